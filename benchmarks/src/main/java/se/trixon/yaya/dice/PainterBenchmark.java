@@ -0,0 +1,85 @@
+/*
+ * Copyright 2026 Patrik Karlström <patrik@trixon.se>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package se.trixon.yaya.dice;
+
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import se.trixon.almond.util.GlobalState;
+
+/**
+ * Paints the dice board, with all dice rolled out, to an offscreen image.
+ *
+ * @author Patrik Karlström <patrik@trixon.se>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class PainterBenchmark {
+
+    private static final int HEIGHT = 200;
+    private static final int WIDTH = 1000;
+
+    @Param({"3", "5", "6"})
+    public int numOfDice;
+
+    private BufferedImage mImage;
+    private Painter mPainter;
+
+    @Benchmark
+    public BufferedImage paint() {
+        var g2 = mImage.createGraphics();
+        mPainter.paint(g2);
+        g2.dispose();
+
+        return mImage;
+    }
+
+    @Setup
+    public void setup() {
+        var diceBoard = new DiceBoard(new GlobalState(), numOfDice);
+        mPainter = diceBoard.getPainter();
+        mPainter.setSize(WIDTH, HEIGHT);
+        mPainter.calcGrid();
+
+        for (var die : diceBoard.getDice()) {
+            die.generateValue();
+            die.rotate(Math.PI / 8 * die.getColumn());
+            die.setVisible(true);
+        }
+
+        mImage = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_ARGB);
+    }
+
+    @TearDown
+    public void tearDown() {
+        mImage.flush();
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2026 Patrik Karlström <patrik@trixon.se>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package se.trixon.yaya.scorecard.rules;
+
+import java.util.concurrent.TimeUnit;
+import org.openide.util.Lookup;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ *
+ * @author Patrik Karlström <patrik@trixon.se>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class RuleLoadBenchmark {
+
+    @Param({"crag.json", "maxi_yaya.json", "quickie.json", "straight.json", "yacht.json", "yaya.json", "yaya_scandinavian.json"})
+    public String ruleFile;
+
+    private Rule mRule;
+    private RuleProvider mRuleProvider;
+
+    @Benchmark
+    public Rule load() {
+        return mRuleProvider.load();
+    }
+
+    @Benchmark
+    public Rule postLoad() {
+        mRule.postLoad();
+
+        return mRule;
+    }
+
+    @Setup
+    public void setup() {
+        mRuleProvider = Lookup.getDefault().lookupAll(RuleProvider.class).stream()
+                .filter(ruleProvider -> ruleProvider.getId().equals(ruleFile))
+                .findFirst()
+                .orElseThrow();
+        mRule = mRuleProvider.load();
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2026 Patrik Karlström <patrik@trixon.se>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package se.trixon.yaya.scoring;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openide.util.Lookup;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import se.trixon.yaya.scorecard.rules.RuleProvider;
+
+/**
+ * Batch scoring throughput, reported as hands per second. Multiply by the
+ * number of rows of the rule for row scores per second.
+ *
+ * @author Patrik Karlström <patrik@trixon.se>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class BatchScoringBenchmark {
+
+    private static final int BATCH_SIZE = 1 << 16;
+
+    @Param({"yaya_scandinavian.json"})
+    public String ruleFile;
+
+    private long[] mHands;
+    private int[] mOutcomes;
+    private short[] mResult;
+    private ScoringEngine mScoringEngine;
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public short[] scoreHands() {
+        mScoringEngine.scoreHands(mHands, mResult);
+
+        return mResult;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public short[] scoreOutcomes() {
+        mScoringEngine.scoreOutcomes(mOutcomes, mResult);
+
+        return mResult;
+    }
+
+    @Setup
+    public void setup() {
+        mScoringEngine = Lookup.getDefault().lookupAll(RuleProvider.class).stream()
+                .filter(ruleProvider -> ruleProvider.getId().equals(ruleFile))
+                .findFirst()
+                .orElseThrow()
+                .load()
+                .getScoringEngine();
+
+        var outcomes = mScoringEngine.getScoreTable().getOutcomes();
+        var random = new Random(0);
+        mHands = new long[BATCH_SIZE];
+        mOutcomes = new int[BATCH_SIZE];
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            long hand = Hand.EMPTY;
+            for (int j = 0; j < outcomes.getNumOfDice(); j++) {
+                hand = Hand.add(hand, random.nextInt(Hand.FACES) + 1);
+            }
+            mHands[i] = hand;
+            mOutcomes[i] = outcomes.indexOf(hand);
+        }
+
+        mResult = new short[BATCH_SIZE * mScoringEngine.getNumOfRows()];
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2026 Patrik Karlström <patrik@trixon.se>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package se.trixon.yaya.scoring;
+
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openide.util.Lookup;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import se.trixon.yaya.scorecard.rules.RuleProvider;
+
+/**
+ * Parses and evaluates every formula of a bundled rule.
+ * <p>
+ * A roll is one random hand scored for all rows of the rule, either by the
+ * formulas or by a score table lookup.
+ *
+ * @author Patrik Karlström <patrik@trixon.se>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class FormulaBenchmark {
+
+    private static final int NUM_OF_HANDS = 1024;
+
+    @Param({"crag.json", "maxi_yaya.json", "quickie.json", "straight.json", "yacht.json", "yaya.json", "yaya_scandinavian.json"})
+    public String ruleFile;
+
+    private ScoreFormula[] mFormulas;
+    private String[] mFormulaStrings;
+    private long[] mHands;
+    private int mHandIndex;
+    private int[] mLims;
+    private int[] mMaxs;
+    private ScoreTable mScoreTable;
+    private int[] mScores;
+    private ScoringEngine mScoringEngine;
+
+    @Benchmark
+    public int[] engine() {
+        mScoringEngine.score(nextHand(), mScores);
+
+        return mScores;
+    }
+
+    @Benchmark
+    public int lookup() {
+        long hand = nextHand();
+        int outcome = mScoreTable.getOutcomes().indexOf(hand);
+        int sum = 0;
+
+        for (int row = 0; row < mFormulas.length; row++) {
+            sum += mScoreTable.getScore(row, outcome);
+        }
+
+        return sum;
+    }
+
+    @Benchmark
+    public void parse(Blackhole blackhole) {
+        for (int i = 0; i < mFormulaStrings.length; i++) {
+            blackhole.consume(FormulaParser.parse(mFormulaStrings[i], mLims[i], mMaxs[i]));
+        }
+    }
+
+    @Benchmark
+    public int score() {
+        long hand = nextHand();
+        int sum = 0;
+
+        for (var formula : mFormulas) {
+            if (formula != null) {
+                sum += formula.score(hand);
+            }
+        }
+
+        return sum;
+    }
+
+    @Setup
+    public void setup() {
+        var rule = Lookup.getDefault().lookupAll(RuleProvider.class).stream()
+                .filter(ruleProvider -> ruleProvider.getId().equals(ruleFile))
+                .findFirst()
+                .orElseThrow()
+                .load();
+
+        var gameCells = new ArrayList<>(rule.getGameColumn());
+        gameCells.removeIf(gameCell -> gameCell.getFormula().isBlank());
+        mFormulaStrings = new String[gameCells.size()];
+        mLims = new int[gameCells.size()];
+        mMaxs = new int[gameCells.size()];
+        for (int i = 0; i < gameCells.size(); i++) {
+            var gameCell = gameCells.get(i);
+            mFormulaStrings[i] = gameCell.getFormula();
+            mLims[i] = gameCell.getLim();
+            mMaxs[i] = gameCell.getMax();
+        }
+
+        mFormulas = rule.getGameColumn().stream().map(gameCell -> gameCell.getScoreFormula()).toArray(ScoreFormula[]::new);
+        mScoringEngine = rule.getScoringEngine();
+        mScoreTable = mScoringEngine.getScoreTable();
+        mScores = new int[mScoringEngine.getNumOfRows()];
+
+        var random = new Random(0);
+        mHands = new long[NUM_OF_HANDS];
+        for (int i = 0; i < NUM_OF_HANDS; i++) {
+            long hand = Hand.EMPTY;
+            for (int j = 0; j < rule.getNumOfDice(); j++) {
+                hand = Hand.add(hand, random.nextInt(Hand.FACES) + 1);
+            }
+            mHands[i] = hand;
+        }
+    }
+
+    private long nextHand() {
+        mHandIndex = (mHandIndex + 1) & (NUM_OF_HANDS - 1);
+
+        return mHands[mHandIndex];
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2026 Patrik Karlström <patrik@trixon.se>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package se.trixon.yaya.bot;
+
+import se.trixon.yaya.engine.PlayerState;
+import se.trixon.yaya.engine.TurnState;
+
+/**
+ * A computer player, deciding the moves of a turn.
+ * <p>
+ * A turn is played like a human would: after each roll the bot is asked
+ * which dice to keep, and when it keeps them all or has no rolls left, which
+ * row to register them in. A bot may take its time and is not thread-safe,
+ * so it is asked from one background thread at a time.
+ *
+ * @author Patrik Karlström <patrik@trixon.se>
+ */
+public interface Bot {
+
+    /**
+     *
+     * @param playerState
+     * @param turnState rolled, with rolls left
+     * @return the dice to keep for the next roll, all of them to stop
+     * rolling
+     */
+    long getKeep(PlayerState playerState, TurnState turnState);
+
+    /**
+     *
+     * @param playerState
+     * @param turnState rolled
+     * @return the open row to register the dice in
+     */
+    int getRow(PlayerState playerState, TurnState turnState);
+}
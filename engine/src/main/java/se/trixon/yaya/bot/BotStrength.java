@@ -0,0 +1,66 @@
+/*
+ * Copyright 2026 Patrik Karlström <patrik@trixon.se>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package se.trixon.yaya.bot;
+
+import java.util.random.RandomGenerator;
+import se.trixon.yaya.engine.GameRules;
+import se.trixon.yaya.solver.StrategyTable;
+
+/**
+ * The strength of a computer player.
+ *
+ * @author Patrik Karlström <patrik@trixon.se>
+ */
+public enum BotStrength {
+    /**
+     * Keeps random dice and registers in a random open row.
+     */
+    RANDOM,
+    /**
+     * Registers for the highest score of the turn and keeps the dice that
+     * give the highest expected score of the next roll.
+     */
+    GREEDY,
+    /**
+     * Plays the solved strategy, for the highest expected final score.
+     */
+    OPTIMAL;
+
+    /**
+     *
+     * @param rules
+     * @param table the solved strategy of the rules, may be <code>null</code>
+     * for all but {@link #OPTIMAL}
+     * @param random
+     * @return a new bot
+     * @throws IllegalArgumentException if an optimal bot has no table
+     */
+    public Bot newBot(GameRules rules, StrategyTable table, RandomGenerator random) {
+        return switch (this) {
+            case RANDOM ->
+                new RandomBot(rules, random);
+            case GREEDY ->
+                new GreedyBot(rules);
+            case OPTIMAL -> {
+                if (table == null) {
+                    throw new IllegalArgumentException("No strategy table");
+                }
+
+                yield new OptimalBot(table);
+            }
+        };
+    }
+}
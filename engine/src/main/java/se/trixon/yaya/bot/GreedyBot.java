@@ -0,0 +1,102 @@
+/*
+ * Copyright 2026 Patrik Karlström <patrik@trixon.se>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package se.trixon.yaya.bot;
+
+import se.trixon.yaya.engine.GameRules;
+import se.trixon.yaya.engine.PlayerState;
+import se.trixon.yaya.engine.TurnState;
+import se.trixon.yaya.scoring.Hand;
+import se.trixon.yaya.scoring.ScoreTable;
+import se.trixon.yaya.solver.TransitionCache;
+
+/**
+ * Plays for the score of the current turn only.
+ * <p>
+ * The dice are registered in the open row with the highest score. Before
+ * that, the part of the dice to keep is the one with the highest expected
+ * best score after one more roll, weighed with the {@link TransitionCache}.
+ *
+ * @author Patrik Karlström <patrik@trixon.se>
+ */
+final class GreedyBot implements Bot {
+
+    private final float[] mBestScores;
+    private final int[] mPlayableRows;
+    private long mRegistered = -1L;
+    private final ScoreTable mScoreTable;
+    private final TransitionCache mTransitionCache;
+
+    GreedyBot(GameRules rules) {
+        mPlayableRows = rules.getPlayableRows();
+        mScoreTable = rules.getScoringEngine().getScoreTable();
+        mTransitionCache = TransitionCache.of(rules.getNumOfDice());
+        mBestScores = new float[mScoreTable.getOutcomes().size()];
+    }
+
+    @Override
+    public long getKeep(PlayerState playerState, TurnState turnState) {
+        long hand = turnState.getHand();
+        if (playerState.getRegistered() != mRegistered) {
+            mRegistered = playerState.getRegistered();
+            for (int outcome = 0; outcome < mBestScores.length; outcome++) {
+                int best = 0;
+                for (int row : mPlayableRows) {
+                    if (!playerState.isRegistered(row)) {
+                        best = Math.max(best, mScoreTable.getScore(row, outcome));
+                    }
+                }
+                mBestScores[outcome] = best;
+            }
+        }
+
+        long bestKeep = hand;
+        double bestValue = Double.NEGATIVE_INFINITY;
+        for (int keep = 0; keep < mTransitionCache.getNumOfKeeps(); keep++) {
+            if (Hand.contains(hand, mTransitionCache.getKeep(keep))) {
+                double value = mTransitionCache.getExpectedValue(keep, mBestScores);
+                if (value > bestValue) {
+                    bestValue = value;
+                    bestKeep = mTransitionCache.getKeep(keep);
+                }
+            }
+        }
+
+        return bestKeep;
+    }
+
+    @Override
+    public int getRow(PlayerState playerState, TurnState turnState) {
+        long hand = turnState.getHand();
+        int bestRow = -1;
+        int bestScore = -1;
+
+        for (int row : mPlayableRows) {
+            if (!playerState.isRegistered(row)) {
+                int score = mScoreTable.getScore(row, hand);
+                if (score > bestScore) {
+                    bestScore = score;
+                    bestRow = row;
+                }
+            }
+        }
+
+        if (bestRow < 0) {
+            throw new IllegalStateException("No rows left to register");
+        }
+
+        return bestRow;
+    }
+}
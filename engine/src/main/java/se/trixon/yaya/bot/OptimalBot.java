@@ -0,0 +1,47 @@
+/*
+ * Copyright 2026 Patrik Karlström <patrik@trixon.se>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package se.trixon.yaya.bot;
+
+import se.trixon.yaya.engine.PlayerState;
+import se.trixon.yaya.engine.TurnState;
+import se.trixon.yaya.solver.HintEngine;
+import se.trixon.yaya.solver.StrategyTable;
+
+/**
+ * Plays the moves of a {@link HintEngine}.
+ *
+ * @author Patrik Karlström <patrik@trixon.se>
+ */
+final class OptimalBot implements Bot {
+
+    private final HintEngine mHintEngine;
+
+    OptimalBot(StrategyTable table) {
+        mHintEngine = new HintEngine(table);
+    }
+
+    @Override
+    public long getKeep(PlayerState playerState, TurnState turnState) {
+        var hint = mHintEngine.getHint(playerState, turnState);
+
+        return hint.reroll() ? hint.keep() : turnState.getHand();
+    }
+
+    @Override
+    public int getRow(PlayerState playerState, TurnState turnState) {
+        return mHintEngine.getHint(playerState, turnState).row();
+    }
+}
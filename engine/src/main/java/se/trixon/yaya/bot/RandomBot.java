@@ -0,0 +1,63 @@
+/*
+ * Copyright 2026 Patrik Karlström <patrik@trixon.se>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package se.trixon.yaya.bot;
+
+import java.util.random.RandomGenerator;
+import se.trixon.yaya.engine.GameRules;
+import se.trixon.yaya.engine.PlayerState;
+import se.trixon.yaya.engine.TurnState;
+import se.trixon.yaya.scoring.Hand;
+
+/**
+ *
+ * @author Patrik Karlström <patrik@trixon.se>
+ */
+final class RandomBot implements Bot {
+
+    private final int[] mPlayableRows;
+    private final RandomGenerator mRandom;
+
+    RandomBot(GameRules rules, RandomGenerator random) {
+        mPlayableRows = rules.getPlayableRows();
+        mRandom = random;
+    }
+
+    @Override
+    public long getKeep(PlayerState playerState, TurnState turnState) {
+        long keep = Hand.EMPTY;
+        for (int value : Hand.toArray(turnState.getHand())) {
+            if (mRandom.nextBoolean()) {
+                keep = Hand.add(keep, value);
+            }
+        }
+
+        return keep;
+    }
+
+    @Override
+    public int getRow(PlayerState playerState, TurnState turnState) {
+        int numOfOpen = mPlayableRows.length - playerState.getNumOfRegistered();
+        int n = mRandom.nextInt(numOfOpen);
+
+        for (int row : mPlayableRows) {
+            if (!playerState.isRegistered(row) && n-- == 0) {
+                return row;
+            }
+        }
+
+        throw new IllegalStateException("No rows left to register");
+    }
+}
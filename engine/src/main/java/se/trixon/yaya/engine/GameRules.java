@@ -0,0 +1,142 @@
+/*
+ * Copyright 2026 Patrik Karlström <patrik@trixon.se>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package se.trixon.yaya.engine;
+
+import java.util.List;
+import java.util.stream.IntStream;
+import se.trixon.yaya.scoring.ScoreFormula;
+import se.trixon.yaya.scoring.ScoringEngine;
+
+/**
+ * The rule of a game, free from presentation: the dice, the rolls per turn
+ * and what every row of the score card does.
+ * <p>
+ * Sum, bonus and result rows are evaluated in row order, so they may only
+ * refer to rows above them.
+ *
+ * @author Patrik Karlström <patrik@trixon.se>
+ */
+public final class GameRules {
+
+    private final int mNumOfDice;
+    private final int mNumOfRolls;
+    private final int[] mPlayableRows;
+    private final int mResultRow;
+    private final Row[] mRows;
+    private final ScoringEngine mScoringEngine;
+
+    /**
+     *
+     * @param numOfDice
+     * @param numOfRolls the rolls per turn, 0 for no limit
+     * @param rows
+     */
+    public GameRules(int numOfDice, int numOfRolls, List<Row> rows) {
+        if (rows.size() > Long.SIZE) {
+            throw new IllegalArgumentException("At most %d rows are supported".formatted(Long.SIZE));
+        }
+
+        mNumOfDice = numOfDice;
+        mNumOfRolls = numOfRolls;
+        mRows = rows.toArray(Row[]::new);
+        mPlayableRows = IntStream.range(0, mRows.length).filter(i -> mRows[i].type() == RowType.PLAYABLE).toArray();
+        mResultRow = IntStream.range(0, mRows.length).filter(i -> mRows[i].type() == RowType.RESULT).findFirst().orElse(-1);
+
+        var formulas = new ScoreFormula[mRows.length];
+        for (int i = 0; i < mRows.length; i++) {
+            var row = mRows[i];
+            for (int sumRow : row.sumRows()) {
+                if (sumRow >= i) {
+                    throw new IllegalArgumentException("Row %d sums row %d, which is not above it".formatted(i, sumRow));
+                }
+            }
+
+            if (row.type() == RowType.PLAYABLE) {
+                formulas[i] = row.formula();
+            }
+        }
+
+        mScoringEngine = new ScoringEngine(formulas, numOfDice);
+    }
+
+    public int getNumOfDice() {
+        return mNumOfDice;
+    }
+
+    public int getNumOfRolls() {
+        return mNumOfRolls;
+    }
+
+    public int getNumOfRows() {
+        return mRows.length;
+    }
+
+    /**
+     *
+     * @return the number of turns of each player, one per playable row
+     */
+    public int getNumOfTurns() {
+        return mPlayableRows.length;
+    }
+
+    public int[] getPlayableRows() {
+        return mPlayableRows.clone();
+    }
+
+    /**
+     *
+     * @return the index of the result row, or -1 if there is none
+     */
+    public int getResultRow() {
+        return mResultRow;
+    }
+
+    public Row getRow(int row) {
+        return mRows[row];
+    }
+
+    public ScoringEngine getScoringEngine() {
+        return mScoringEngine;
+    }
+
+    public boolean isPlayable(int row) {
+        return mRows[row].type() == RowType.PLAYABLE;
+    }
+
+    /**
+     *
+     * @param type
+     * @param formula the formula of a playable row, otherwise
+     * <code>null</code>
+     * @param lim the bonus threshold of a bonus row
+     * @param max the bonus of a bonus row
+     * @param sumRows the rows added up by sum, bonus and result rows
+     */
+    public record Row(RowType type, ScoreFormula formula, int lim, int max, int[] sumRows) {
+
+        public Row {
+            sumRows = sumRows == null ? new int[0] : sumRows.clone();
+        }
+    }
+
+    public enum RowType {
+        BONUS,
+        PLAYABLE,
+        RESULT,
+        ROLL_COUNTER,
+        SUM
+    }
+}
@@ -0,0 +1,211 @@
+/*
+ * Copyright 2026 Patrik Karlström <patrik@trixon.se>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package se.trixon.yaya.engine;
+
+import java.util.ArrayDeque;
+import java.util.random.RandomGenerator;
+import se.trixon.yaya.scoring.Hand;
+
+/**
+ * A game played by a number of players taking turns, free from presentation
+ * and timing.
+ * <p>
+ * A turn is one or more rolls followed by the registration of a playable
+ * row. Dice can be kept between the rolls of a turn. Registrations can be
+ * undone back to the start of the game and redone until the next roll or
+ * registration. The state itself is a {@link GameSnapshot}, so keeping the
+ * history is only a matter of keeping references.
+ * <p>
+ * A session is changed by one thread, while its snapshot can be read from
+ * any thread.
+ *
+ * @author Patrik Karlström <patrik@trixon.se>
+ */
+public class GameSession {
+
+    private final ArrayDeque<Move> mRedoStack = new ArrayDeque<>();
+    private final GameRules mRules;
+    private volatile GameSnapshot mSnapshot;
+    private final ArrayDeque<Move> mUndoStack = new ArrayDeque<>();
+
+    public GameSession(GameRules rules, int numOfPlayers) {
+        mRules = rules;
+        mSnapshot = new GameSnapshot(rules, numOfPlayers);
+    }
+
+    public boolean canRedo() {
+        return !mRedoStack.isEmpty();
+    }
+
+    public boolean canRegister(int row) {
+        return mSnapshot.canRegister(row);
+    }
+
+    public boolean canRoll() {
+        return mSnapshot.canRoll();
+    }
+
+    public boolean canUndo() {
+        return !mUndoStack.isEmpty();
+    }
+
+    public int getActivePlayer() {
+        return mSnapshot.getActivePlayer();
+    }
+
+    public PlayerState getActivePlayerState() {
+        return mSnapshot.getActivePlayerState();
+    }
+
+    public int getNumOfPlayers() {
+        return mSnapshot.getNumOfPlayers();
+    }
+
+    public PlayerState getPlayerState(int player) {
+        return mSnapshot.getPlayerState(player);
+    }
+
+    /**
+     *
+     * @return the score every row would get with the current dice, all zero
+     * before the first roll
+     */
+    public int[] getPreview() {
+        var turnState = mSnapshot.getTurnState();
+        if (turnState.isRolled()) {
+            return mRules.getScoringEngine().score(turnState.getHand());
+        } else {
+            return new int[mRules.getNumOfRows()];
+        }
+    }
+
+    public GameRules getRules() {
+        return mRules;
+    }
+
+    public GameSnapshot getSnapshot() {
+        return mSnapshot;
+    }
+
+    public TurnState getTurnState() {
+        return mSnapshot.getTurnState();
+    }
+
+    public boolean isGameOver() {
+        return mSnapshot.isGameOver();
+    }
+
+    public void newGame() {
+        mSnapshot = new GameSnapshot(mRules, mSnapshot.getNumOfPlayers());
+        mUndoStack.clear();
+        mRedoStack.clear();
+    }
+
+    /**
+     * Redoes the last undone registration.
+     *
+     * @return the registered row
+     * @throws IllegalStateException if there is nothing to redo
+     */
+    public int redo() throws IllegalStateException {
+        var move = mRedoStack.poll();
+        if (move == null) {
+            throw new IllegalStateException("Nothing to redo");
+        }
+
+        mUndoStack.push(move);
+        mSnapshot = move.after();
+
+        return move.row();
+    }
+
+    /**
+     * Registers the current dice in a row and passes the turn to the next
+     * player.
+     *
+     * @param row
+     * @return the registered score
+     * @throws IllegalStateException if the row can not be registered
+     */
+    public int register(int row) throws IllegalStateException {
+        var before = mSnapshot;
+        mSnapshot = before.register(row);
+        mUndoStack.push(new Move(before, mSnapshot, row));
+        mRedoStack.clear();
+
+        return mSnapshot.getPlayerState(before.getActivePlayer()).getScore(row);
+    }
+
+    /**
+     * Rolls the dice that are not kept.
+     *
+     * @param keep the dice to keep, {@link Hand#EMPTY} to roll all of them
+     * @param random
+     * @return the new dice
+     * @throws IllegalStateException if no more rolls are allowed
+     * @throws IllegalArgumentException if the kept dice are not among the
+     * current dice
+     */
+    public long roll(long keep, RandomGenerator random) throws IllegalStateException, IllegalArgumentException {
+        if (!Hand.contains(mSnapshot.getTurnState().getHand(), keep)) {
+            throw new IllegalArgumentException("Can not keep %s from %s".formatted(Hand.toString(keep), Hand.toString(mSnapshot.getTurnState().getHand())));
+        }
+
+        long hand = keep;
+        for (int i = Hand.size(keep); i < mRules.getNumOfDice(); i++) {
+            hand = Hand.add(hand, random.nextInt(Hand.FACES) + 1);
+        }
+
+        roll(hand);
+
+        return hand;
+    }
+
+    /**
+     * Records a roll made elsewhere, e.g. by animated dice.
+     *
+     * @param hand all dice after the roll
+     * @throws IllegalStateException if no more rolls are allowed
+     * @throws IllegalArgumentException on the wrong number of dice
+     */
+    public void roll(long hand) throws IllegalStateException, IllegalArgumentException {
+        mSnapshot = mSnapshot.roll(hand);
+        mRedoStack.clear();
+    }
+
+    /**
+     * Undoes the last registration, the player who made it is back at the
+     * end of that turn.
+     *
+     * @return the row that is no longer registered
+     * @throws IllegalStateException if there is nothing to undo
+     */
+    public int undo() throws IllegalStateException {
+        var move = mUndoStack.poll();
+        if (move == null) {
+            throw new IllegalStateException("Nothing to undo");
+        }
+
+        mRedoStack.push(move);
+        mSnapshot = move.before();
+
+        return move.row();
+    }
+
+    private record Move(GameSnapshot before, GameSnapshot after, int row) {
+
+    }
+}
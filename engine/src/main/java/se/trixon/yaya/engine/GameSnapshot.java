@@ -0,0 +1,143 @@
+/*
+ * Copyright 2026 Patrik Karlström <patrik@trixon.se>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package se.trixon.yaya.engine;
+
+import se.trixon.yaya.scoring.Hand;
+
+/**
+ * The complete state of a game at one moment, as an immutable value.
+ * <p>
+ * Taking a snapshot costs nothing, and every move returns a new snapshot
+ * sharing the unchanged player states with the previous one.
+ *
+ * @author Patrik Karlström <patrik@trixon.se>
+ */
+public final class GameSnapshot {
+
+    private final int mActivePlayer;
+    private final PlayerState[] mPlayers;
+    private final GameRules mRules;
+    private final TurnState mTurnState;
+
+    /**
+     * Creates the snapshot of a new game.
+     *
+     * @param rules
+     * @param numOfPlayers
+     */
+    public GameSnapshot(GameRules rules, int numOfPlayers) {
+        if (numOfPlayers < 1) {
+            throw new IllegalArgumentException("At least one player is needed");
+        }
+
+        mRules = rules;
+        mPlayers = new PlayerState[numOfPlayers];
+        var playerState = new PlayerState(rules);
+        for (int i = 0; i < numOfPlayers; i++) {
+            mPlayers[i] = playerState;
+        }
+        mActivePlayer = 0;
+        mTurnState = TurnState.NEW;
+    }
+
+    private GameSnapshot(GameRules rules, PlayerState[] players, int activePlayer, TurnState turnState) {
+        mRules = rules;
+        mPlayers = players;
+        mActivePlayer = activePlayer;
+        mTurnState = turnState;
+    }
+
+    public boolean canRegister(int row) {
+        return mTurnState.isRolled()
+                && mRules.isPlayable(row)
+                && !getActivePlayerState().isRegistered(row);
+    }
+
+    public boolean canRoll() {
+        return !isGameOver()
+                && (mRules.getNumOfRolls() <= 0 || mTurnState.getNumOfRolls() < mRules.getNumOfRolls());
+    }
+
+    public int getActivePlayer() {
+        return mActivePlayer;
+    }
+
+    public PlayerState getActivePlayerState() {
+        return mPlayers[mActivePlayer];
+    }
+
+    public int getNumOfPlayers() {
+        return mPlayers.length;
+    }
+
+    public PlayerState getPlayerState(int player) {
+        return mPlayers[player];
+    }
+
+    public GameRules getRules() {
+        return mRules;
+    }
+
+    public TurnState getTurnState() {
+        return mTurnState;
+    }
+
+    public boolean isGameOver() {
+        return mPlayers[mPlayers.length - 1].isDone();
+    }
+
+    /**
+     * Registers the current dice in a row and passes the turn to the next
+     * player.
+     *
+     * @param row
+     * @return the snapshot after the move
+     * @throws IllegalStateException if the row can not be registered
+     */
+    public GameSnapshot register(int row) throws IllegalStateException {
+        if (!canRegister(row)) {
+            throw new IllegalStateException("Row %d can not be registered".formatted(row));
+        }
+
+        int score = mRules.getScoringEngine().score(row, mTurnState.getHand());
+        var players = mPlayers.clone();
+        players[mActivePlayer] = getActivePlayerState().register(row, score);
+
+        return new GameSnapshot(mRules, players, (mActivePlayer + 1) % players.length, TurnState.NEW);
+    }
+
+    /**
+     *
+     * @param hand all dice after the roll
+     * @return the snapshot after the roll
+     * @throws IllegalStateException if no more rolls are allowed
+     * @throws IllegalArgumentException on the wrong number of dice
+     */
+    public GameSnapshot roll(long hand) throws IllegalStateException, IllegalArgumentException {
+        if (!canRoll()) {
+            throw new IllegalStateException("No rolls left");
+        }
+
+        if (Hand.size(hand) != mRules.getNumOfDice()) {
+            throw new IllegalArgumentException("Expected %d dice, got %s".formatted(mRules.getNumOfDice(), Hand.toString(hand)));
+        }
+
+        var players = mPlayers.clone();
+        players[mActivePlayer] = getActivePlayerState().roll();
+
+        return new GameSnapshot(mRules, players, mActivePlayer, mTurnState.roll(hand));
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2026 Patrik Karlström <patrik@trixon.se>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package se.trixon.yaya.engine;
+
+import se.trixon.yaya.engine.GameRules.RowType;
+
+/**
+ * The score card column of one player, as an immutable value.
+ * <p>
+ * The registered rows are a bit mask and the scores a small array that is
+ * never modified once created, so a state can be kept for undo, saved or
+ * explored by a bot without copying. The sum of the rows that count
+ * towards the bonus is cached.
+ *
+ * @author Patrik Karlström <patrik@trixon.se>
+ */
+public final class PlayerState {
+
+    private final int mBonusProgress;
+    private final int mNumOfRolls;
+    private final long mRegistered;
+    private final GameRules mRules;
+    private final short[] mScores;
+
+    PlayerState(GameRules rules) {
+        this(rules, 0L, new short[rules.getNumOfRows()], 0, 0);
+    }
+
+    private PlayerState(GameRules rules, long registered, short[] scores, int bonusProgress, int numOfRolls) {
+        mRules = rules;
+        mRegistered = registered;
+        mScores = scores;
+        mBonusProgress = bonusProgress;
+        mNumOfRolls = numOfRolls;
+    }
+
+    /**
+     *
+     * @return the sum of the rows that count towards the bonus, 0 if the rule
+     * has no bonus
+     */
+    public int getBonusProgress() {
+        return mBonusProgress;
+    }
+
+    public int getNumOfRegistered() {
+        return Long.bitCount(mRegistered);
+    }
+
+    /**
+     *
+     * @return the number of rolls made by the player this game
+     */
+    public int getNumOfRolls() {
+        return mNumOfRolls;
+    }
+
+    /**
+     *
+     * @return a bit mask with bit <code>row</code> set for every registered
+     * row
+     */
+    public long getRegistered() {
+        return mRegistered;
+    }
+
+    /**
+     *
+     * @param row
+     * @return the registered score of a playable row or the current value of
+     * a sum, bonus or result row
+     */
+    public int getScore(int row) {
+        return mScores[row];
+    }
+
+    public int getTotal() {
+        int resultRow = mRules.getResultRow();
+        if (resultRow >= 0) {
+            return mScores[resultRow];
+        }
+
+        int total = 0;
+        for (int row : mRules.getPlayableRows()) {
+            total += mScores[row];
+        }
+
+        return total;
+    }
+
+    public boolean isDone() {
+        return getNumOfRegistered() == mRules.getNumOfTurns();
+    }
+
+    public boolean isRegistered(int row) {
+        return (mRegistered & (1L << row)) != 0;
+    }
+
+    PlayerState register(int row, int score) {
+        var scores = mScores.clone();
+        scores[row] = (short) score;
+        int bonusProgress = 0;
+
+        for (int i = 0; i < scores.length; i++) {
+            var gameRow = mRules.getRow(i);
+            if (gameRow.type() == RowType.PLAYABLE || gameRow.type() == RowType.ROLL_COUNTER) {
+                continue;
+            }
+
+            int sum = 0;
+            for (int sumRow : gameRow.sumRows()) {
+                sum += scores[sumRow];
+            }
+
+            if (gameRow.type() == RowType.BONUS) {
+                bonusProgress = sum;
+                scores[i] = (short) (sum >= gameRow.lim() ? gameRow.max() : 0);
+            } else {
+                scores[i] = (short) sum;
+            }
+        }
+
+        return new PlayerState(mRules, mRegistered | (1L << row), scores, bonusProgress, mNumOfRolls);
+    }
+
+    PlayerState roll() {
+        return new PlayerState(mRules, mRegistered, mScores, mBonusProgress, mNumOfRolls + 1);
+    }
+}
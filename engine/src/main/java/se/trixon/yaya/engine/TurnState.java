@@ -0,0 +1,61 @@
+/*
+ * Copyright 2026 Patrik Karlström <patrik@trixon.se>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package se.trixon.yaya.engine;
+
+import se.trixon.yaya.scoring.Hand;
+
+/**
+ * The dice of the active player and the number of rolls made this turn.
+ * Immutable.
+ *
+ * @author Patrik Karlström <patrik@trixon.se>
+ */
+public final class TurnState {
+
+    public static final TurnState NEW = new TurnState(Hand.EMPTY, 0);
+    private final long mHand;
+    private final int mNumOfRolls;
+
+    private TurnState(long hand, int numOfRolls) {
+        mHand = hand;
+        mNumOfRolls = numOfRolls;
+    }
+
+    /**
+     *
+     * @return the dice as a {@link Hand}, empty before the first roll
+     */
+    public long getHand() {
+        return mHand;
+    }
+
+    public int getNumOfRolls() {
+        return mNumOfRolls;
+    }
+
+    public boolean isRolled() {
+        return mNumOfRolls > 0;
+    }
+
+    @Override
+    public String toString() {
+        return "%s (%d)".formatted(Hand.toString(mHand), mNumOfRolls);
+    }
+
+    TurnState roll(long hand) {
+        return new TurnState(hand, mNumOfRolls + 1);
+    }
+}
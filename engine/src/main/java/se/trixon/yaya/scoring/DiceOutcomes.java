@@ -0,0 +1,106 @@
+/*
+ * Copyright 2026 Patrik Karlström <patrik@trixon.se>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package se.trixon.yaya.scoring;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * All distinct outcomes of rolling a number of six-sided dice, i.e. all
+ * multisets of faces, in a fixed order.
+ * <p>
+ * An outcome is ranked with the combinatorial number system: the sorted
+ * faces <code>d0 &lt;= d1 &lt;= ...</code> are mapped to the strictly
+ * increasing sequence <code>(d0 - 1) + 0, (d1 - 1) + 1, ...</code> and the
+ * index is the sum of <code>C(e_i, i + 1)</code>.
+ *
+ * @author Patrik Karlström <patrik@trixon.se>
+ */
+public class DiceOutcomes {
+
+    public static final int FACES = Hand.FACES;
+    private static final ConcurrentHashMap<Integer, DiceOutcomes> sCache = new ConcurrentHashMap<>();
+    private final int[][] mBinomial;
+    private final long[] mHands;
+    private final int mNumOfDice;
+
+    public static DiceOutcomes of(int numOfDice) {
+        return sCache.computeIfAbsent(numOfDice, DiceOutcomes::new);
+    }
+
+    private DiceOutcomes(int numOfDice) {
+        mNumOfDice = numOfDice;
+        mBinomial = new int[numOfDice + FACES][numOfDice + 1];
+        for (int n = 0; n < mBinomial.length; n++) {
+            mBinomial[n][0] = 1;
+            for (int k = 1; k <= numOfDice && k <= n; k++) {
+                mBinomial[n][k] = mBinomial[n - 1][k - 1] + (k <= n - 1 ? mBinomial[n - 1][k] : 0);
+            }
+        }
+
+        mHands = new long[mBinomial[numOfDice + FACES - 1][numOfDice]];
+        enumerate(new int[numOfDice], 0, 1);
+    }
+
+    /**
+     *
+     * @param index
+     * @return the outcome as a {@link Hand}
+     */
+    public long getHand(int index) {
+        return mHands[index];
+    }
+
+    public int getNumOfDice() {
+        return mNumOfDice;
+    }
+
+    public int indexOf(long hand) {
+        int index = 0;
+        int position = 0;
+
+        for (int face = 1; face <= FACES; face++) {
+            for (int i = Hand.count(hand, face); i > 0; i--) {
+                index += mBinomial[face - 1 + position][position + 1];
+                position++;
+            }
+        }
+
+        return index;
+    }
+
+    public int size() {
+        return mHands.length;
+    }
+
+    private void enumerate(int[] values, int position, int minFace) {
+        if (position == values.length) {
+            int index = 0;
+            long hand = Hand.EMPTY;
+            for (int i = 0; i < values.length; i++) {
+                index += mBinomial[values[i] - 1 + i][i + 1];
+                hand = Hand.add(hand, values[i]);
+            }
+            mHands[index] = hand;
+
+            return;
+        }
+
+        for (int face = minFace; face <= FACES; face++) {
+            values[position] = face;
+            enumerate(values, position + 1, face);
+        }
+    }
+}
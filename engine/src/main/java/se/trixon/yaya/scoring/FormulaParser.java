@@ -0,0 +1,113 @@
+/*
+ * Copyright 2022 Patrik Karlström <patrik@trixon.se>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package se.trixon.yaya.scoring;
+
+import java.util.Arrays;
+
+/**
+ * Compiles the formula strings of the rule definitions into
+ * {@link ScoreFormula} objects, once, at rule load.
+ *
+ * @author Patrik Karlström
+ */
+public class FormulaParser {
+
+    private FormulaParser() {
+    }
+
+    /**
+     *
+     * @param formulaString the formula as written in the rule, e.g.
+     * <code>house 3 2</code>
+     * @param lim the lim value of the row
+     * @param max the max value of the row
+     * @return the compiled formula
+     * @throws IllegalArgumentException on unknown commands or malformed
+     * arguments
+     */
+    public static ScoreFormula parse(String formulaString, int lim, int max) throws IllegalArgumentException {
+        var parseString = formulaString.trim().split("\\s+");
+        var command = parseString[0];
+        var args = Arrays.copyOfRange(parseString, 1, parseString.length);
+
+        Formula formula;
+        try {
+            formula = Formula.valueOf(command.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown command: %s (%s)".formatted(command, formulaString), e);
+        }
+
+        try {
+            return processFormula(formula, args, lim, max);
+        } catch (IndexOutOfBoundsException | NumberFormatException e) {
+            throw new IllegalArgumentException("Malformed formula: %s".formatted(formulaString), e);
+        }
+    }
+
+    private static int fixedScore(int lim, int max) {
+        return lim == max ? max : ScoreFormula.NOT_FIXED;
+    }
+
+    private static ScoreFormula processFormula(Formula formula, String[] args, int lim, int max) {
+        return switch (formula) {
+            case CUSTOM_CRAG ->
+                new ScoreFormula.CustomCrag(Integer.parseInt(args[0]));
+
+            case DUPLICATES ->
+                new ScoreFormula.Duplicates(Integer.parseInt(args[0]), fixedScore(lim, max));
+
+            case EQUALS ->
+                new ScoreFormula.Equals(Arrays.stream(args[0].split(",")).mapToInt(Integer::parseInt).sorted().toArray(), Integer.parseInt(args[1]));
+
+            case HOUSE ->
+                new ScoreFormula.House(Integer.parseInt(args[0]), Integer.parseInt(args[1]), fixedScore(lim, max));
+
+            case PAIR ->
+                new ScoreFormula.Pair(Integer.parseInt(args[0]));
+
+            case SEQUENCE ->
+                new ScoreFormula.Sequence(Integer.parseInt(args[0]), args.length > 3 ? Integer.parseInt(args[3]) : ScoreFormula.NOT_FIXED);
+
+            case STRAIGHT ->
+                new ScoreFormula.Straight(Integer.parseInt(args[0]), lim, max);
+
+            case SUM -> {
+                if (args.length == 0) {
+                    yield new ScoreFormula.Sum();
+                } else if (args.length == 1) {
+                    yield new ScoreFormula.SumOf(Integer.parseInt(args[0]));
+                } else {
+                    yield new ScoreFormula.SumEquals(Integer.parseInt(args[0]), Integer.parseInt(args[1]));
+                }
+            }
+
+            case SUM_N ->
+                new ScoreFormula.SumN(Integer.parseInt(args[0]));
+        };
+    }
+
+    public enum Formula {
+        CUSTOM_CRAG,
+        DUPLICATES,
+        EQUALS,
+        HOUSE,
+        PAIR,
+        SEQUENCE,
+        STRAIGHT,
+        SUM,
+        SUM_N,
+    }
+}
@@ -0,0 +1,244 @@
+/*
+ * Copyright 2026 Patrik Karlström <patrik@trixon.se>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package se.trixon.yaya.scoring;
+
+import java.util.Arrays;
+
+/**
+ * A roll of six-sided dice packed into a <code>long</code>: the number of
+ * dice showing each face, the sum and the number of dice.
+ * <pre>
+ * bits  0-23  face counts, four bits per face, face 1 in the lowest bits
+ * bits 24-31  sum of all dice
+ * bits 32-35  number of dice
+ * </pre> Two rolls with the same faces in any order have the same value, so
+ * a hand can be used directly as a key for caches and lookup tables. All
+ * methods are static and allocation free.
+ *
+ * @author Patrik Karlström <patrik@trixon.se>
+ */
+public final class Hand {
+
+    public static final long EMPTY = 0L;
+    public static final int FACES = 6;
+    public static final int MAX_DICE = 15;
+    private static final int COUNT_BITS = 4;
+    private static final long COUNT_MASK = 0xFL;
+    private static final int SIZE_SHIFT = 32;
+    private static final int SUM_SHIFT = 24;
+
+    public static long add(long hand, int face) {
+        if (face < 1 || face > FACES) {
+            throw new IllegalArgumentException("Not a face: " + face);
+        }
+
+        if (size(hand) == MAX_DICE) {
+            throw new IllegalArgumentException("Too many dice");
+        }
+
+        return hand
+                + (1L << (COUNT_BITS * (face - 1)))
+                + ((long) face << SUM_SHIFT)
+                + (1L << SIZE_SHIFT);
+    }
+
+    /**
+     *
+     * @param hand
+     * @param subHand
+     * @return true if every die of <code>subHand</code> is found in
+     * <code>hand</code>
+     */
+    public static boolean contains(long hand, long subHand) {
+        for (int face = 1; face <= FACES; face++) {
+            if (count(subHand, face) > count(hand, face)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    public static int count(long hand, int face) {
+        return (int) ((hand >>> (COUNT_BITS * (face - 1))) & COUNT_MASK);
+    }
+
+    /**
+     *
+     * @param hand
+     * @return the number of different faces
+     */
+    public static int distinct(long hand) {
+        return Integer.bitCount(faceMask(hand));
+    }
+
+    /**
+     *
+     * @param hand
+     * @return a bit mask with bit <code>face - 1</code> set for every face
+     * present in the hand
+     */
+    public static int faceMask(long hand) {
+        int mask = 0;
+        for (int face = 1; face <= FACES; face++) {
+            if (count(hand, face) > 0) {
+                mask |= 1 << (face - 1);
+            }
+        }
+
+        return mask;
+    }
+
+    /**
+     *
+     * @param hand
+     * @param minCount
+     * @param belowFace only faces lower than this are considered
+     * @return the highest face with at least <code>minCount</code> dice, or 0
+     */
+    public static int highestOfAKind(long hand, int minCount, int belowFace) {
+        for (int face = belowFace - 1; face > 0; face--) {
+            if (count(hand, face) >= minCount) {
+                return face;
+            }
+        }
+
+        return 0;
+    }
+
+    public static int highestOfAKind(long hand, int minCount) {
+        return highestOfAKind(hand, minCount, FACES + 1);
+    }
+
+    /**
+     *
+     * @param hand
+     * @return the length of the longest run of consecutive faces
+     */
+    public static int longestRun(long hand) {
+        int mask = faceMask(hand);
+        int length = 0;
+        while (mask != 0) {
+            mask &= mask >>> 1;
+            length++;
+        }
+
+        return length;
+    }
+
+    /**
+     *
+     * @param hand
+     * @return the sum of the faces of the longest, and lowest if tied, run of
+     * consecutive faces
+     */
+    public static int longestRunSum(long hand) {
+        int bestLength = 0;
+        int bestSum = 0;
+        int length = 0;
+        int sum = 0;
+
+        for (int face = 1; face <= FACES; face++) {
+            if (count(hand, face) > 0) {
+                length++;
+                sum += face;
+                if (length > bestLength) {
+                    bestLength = length;
+                    bestSum = sum;
+                }
+            } else {
+                length = 0;
+                sum = 0;
+            }
+        }
+
+        return bestSum;
+    }
+
+    /**
+     *
+     * @param hand
+     * @return the highest number of dice showing the same face
+     */
+    public static int maxOfAKind(long hand) {
+        int max = 0;
+        for (int face = 1; face <= FACES; face++) {
+            max = Math.max(max, count(hand, face));
+        }
+
+        return max;
+    }
+
+    public static long of(int... values) {
+        long hand = EMPTY;
+        for (int value : values) {
+            hand = add(hand, value);
+        }
+
+        return hand;
+    }
+
+    public static long remove(long hand, int face) {
+        if (face < 1 || face > FACES) {
+            throw new IllegalArgumentException("Not a face: " + face);
+        }
+
+        if (count(hand, face) == 0) {
+            throw new IllegalArgumentException("No die showing " + face);
+        }
+
+        return hand
+                - (1L << (COUNT_BITS * (face - 1)))
+                - ((long) face << SUM_SHIFT)
+                - (1L << SIZE_SHIFT);
+    }
+
+    public static int size(long hand) {
+        return (int) ((hand >>> SIZE_SHIFT) & COUNT_MASK);
+    }
+
+    public static int sum(long hand) {
+        return (int) ((hand >>> SUM_SHIFT) & 0xFFL);
+    }
+
+    public static int sumOf(long hand, int face) {
+        return face * count(hand, face);
+    }
+
+    /**
+     *
+     * @param hand
+     * @return the faces in ascending order
+     */
+    public static int[] toArray(long hand) {
+        var values = new int[size(hand)];
+        int i = 0;
+        for (int face = 1; face <= FACES; face++) {
+            for (int j = 0; j < count(hand, face); j++) {
+                values[i++] = face;
+            }
+        }
+
+        return values;
+    }
+
+    public static String toString(long hand) {
+        return Arrays.toString(toArray(hand));
+    }
+
+    private Hand() {
+    }
+}
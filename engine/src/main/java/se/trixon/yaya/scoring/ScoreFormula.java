@@ -0,0 +1,208 @@
+/*
+ * Copyright 2026 Patrik Karlström <patrik@trixon.se>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package se.trixon.yaya.scoring;
+
+import java.util.Arrays;
+
+/**
+ * An immutable, compiled rule formula.
+ *
+ * @author Patrik Karlström <patrik@trixon.se>
+ */
+public sealed interface ScoreFormula {
+
+    /**
+     * Used by the formulas that may be scored with a fixed value instead of
+     * the dice sum.
+     */
+    public static final int NOT_FIXED = -1;
+
+    /**
+     *
+     * @param hand see {@link Hand}
+     * @return the score
+     */
+    int score(long hand);
+
+    public record CustomCrag(int score) implements ScoreFormula {
+
+        @Override
+        public int score(long hand) {
+            if (Hand.maxOfAKind(hand) >= 2 && Hand.sum(hand) == 13) {
+                return score;
+            } else {
+                return 0;
+            }
+        }
+    }
+
+    public record Duplicates(int count, int fixedScore) implements ScoreFormula {
+
+        @Override
+        public int score(long hand) {
+            int face = Hand.highestOfAKind(hand, count);
+            if (face == 0) {
+                return 0;
+            } else {
+                return fixedScore == NOT_FIXED ? count * face : fixedScore;
+            }
+        }
+    }
+
+    public record Equals(int[] faces, int score) implements ScoreFormula {
+
+        public Equals {
+            faces = faces.clone();
+            Arrays.sort(faces);
+        }
+
+        /**
+         * The lowest dice, as many as there are faces in the formula, has to
+         * match the faces.
+         */
+        @Override
+        public int score(long hand) {
+            if (Hand.size(hand) < faces.length) {
+                return 0;
+            }
+
+            int i = 0;
+            for (int face = 1; face <= Hand.FACES && i < faces.length; face++) {
+                for (int j = 0; j < Hand.count(hand, face) && i < faces.length; j++) {
+                    if (faces[i++] != face) {
+                        return 0;
+                    }
+                }
+            }
+
+            return score;
+        }
+    }
+
+    public record House(int majorPart, int minorPart, int fixedScore) implements ScoreFormula {
+
+        @Override
+        public int score(long hand) {
+            int majorFace = Hand.highestOfAKind(hand, majorPart);
+            if (majorFace == 0) {
+                return 0;
+            }
+
+            int minorFace = Hand.highestOfAKind(hand, minorPart);
+            if (minorFace == majorFace) {
+                minorFace = Hand.highestOfAKind(hand, minorPart, majorFace);
+            }
+
+            if (minorFace == 0) {
+                return 0;
+            } else if (fixedScore != NOT_FIXED) {
+                return fixedScore;
+            } else {
+                return majorPart * majorFace + minorPart * minorFace;
+            }
+        }
+    }
+
+    public record Pair(int numOfPairs) implements ScoreFormula {
+
+        @Override
+        public int score(long hand) {
+            int result = 0;
+            int face = Hand.FACES + 1;
+
+            for (int i = 0; i < numOfPairs; i++) {
+                face = Hand.highestOfAKind(hand, 2, face);
+                if (face == 0) {
+                    return 0;
+                }
+                result += 2 * face;
+            }
+
+            return result;
+        }
+    }
+
+    public record Sequence(int size, int fixedScore) implements ScoreFormula {
+
+        @Override
+        public int score(long hand) {
+            if (Hand.longestRun(hand) < size) {
+                return 0;
+            } else if (fixedScore != NOT_FIXED) {
+                return fixedScore;
+            } else {
+                return Hand.longestRunSum(hand);
+            }
+        }
+    }
+
+    public record Straight(int size, int lim, int max) implements ScoreFormula {
+
+        @Override
+        public int score(long hand) {
+            int distinct = Hand.distinct(hand);
+            if (distinct < size) {
+                return 0;
+            }
+
+            int mask = Hand.faceMask(hand);
+            int setSum = 0;
+            for (int face = 1; face <= Hand.FACES; face++) {
+                if ((mask & (1 << (face - 1))) != 0) {
+                    setSum += face;
+                }
+            }
+
+            if (distinct > size) {
+                return setSum >= lim ? max : 0;
+            } else {
+                return setSum == lim ? max : 0;
+            }
+        }
+    }
+
+    public record Sum() implements ScoreFormula {
+
+        @Override
+        public int score(long hand) {
+            return Hand.sum(hand);
+        }
+    }
+
+    public record SumEquals(int sum, int score) implements ScoreFormula {
+
+        @Override
+        public int score(long hand) {
+            return Hand.sum(hand) == sum ? score : 0;
+        }
+    }
+
+    public record SumN(int count) implements ScoreFormula {
+
+        @Override
+        public int score(long hand) {
+            return Hand.maxOfAKind(hand) >= count ? Hand.sum(hand) : 0;
+        }
+    }
+
+    public record SumOf(int face) implements ScoreFormula {
+
+        @Override
+        public int score(long hand) {
+            return Hand.sumOf(hand, face);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2026 Patrik Karlström <patrik@trixon.se>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package se.trixon.yaya.scoring;
+
+/**
+ * The score of every row for every possible outcome, evaluated once when the
+ * rule is loaded.
+ * <p>
+ * The scores are kept both row by row, for lookups of a single row, and
+ * outcome by outcome, so that all rows of an outcome can be copied in one
+ * go by the batch scoring.
+ *
+ * @author Patrik Karlström <patrik@trixon.se>
+ */
+public class ScoreTable {
+
+    private final short[] mOutcomeScores;
+    private final DiceOutcomes mOutcomes;
+    private final int mNumOfRows;
+    private final short[][] mScores;
+
+    /**
+     *
+     * @param formulas the formula of each row, <code>null</code> for rows that
+     * are not scored from the dice
+     * @param numOfDice
+     */
+    public ScoreTable(ScoreFormula[] formulas, int numOfDice) {
+        mOutcomes = DiceOutcomes.of(numOfDice);
+        mNumOfRows = formulas.length;
+        mScores = new short[mNumOfRows][mOutcomes.size()];
+        mOutcomeScores = new short[mOutcomes.size() * mNumOfRows];
+
+        for (int outcome = 0; outcome < mOutcomes.size(); outcome++) {
+            long hand = mOutcomes.getHand(outcome);
+            for (int row = 0; row < formulas.length; row++) {
+                if (formulas[row] != null) {
+                    mScores[row][outcome] = (short) formulas[row].score(hand);
+                    mOutcomeScores[outcome * mNumOfRows + row] = mScores[row][outcome];
+                }
+            }
+        }
+    }
+
+    public int getNumOfRows() {
+        return mNumOfRows;
+    }
+
+    public DiceOutcomes getOutcomes() {
+        return mOutcomes;
+    }
+
+    public int getScore(int row, int outcome) {
+        return mScores[row][outcome];
+    }
+
+    public int getScore(int row, long hand) {
+        return mScores[row][mOutcomes.indexOf(hand)];
+    }
+
+    /**
+     * Copies the scores of all rows for an outcome.
+     *
+     * @param outcome
+     * @param dest
+     * @param destPos
+     */
+    public void getScores(int outcome, short[] dest, int destPos) {
+        System.arraycopy(mOutcomeScores, outcome * mNumOfRows, dest, destPos, mNumOfRows);
+    }
+}
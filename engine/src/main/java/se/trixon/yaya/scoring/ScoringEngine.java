@@ -0,0 +1,137 @@
+/*
+ * Copyright 2026 Patrik Karlström <patrik@trixon.se>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package se.trixon.yaya.scoring;
+
+/**
+ * Scores hands for all rows of a rule.
+ * <p>
+ * An engine is immutable once created and keeps no per-call state, so one
+ * instance per rule can be shared by any number of threads without locking.
+ * <p>
+ * The batch methods fill a result matrix with one line of
+ * {@link #getNumOfRows()} scores per hand, in the order of the hands.
+ *
+ * @author Patrik Karlström <patrik@trixon.se>
+ */
+public final class ScoringEngine {
+
+    private final ScoreFormula[] mFormulas;
+    private final ScoreTable mScoreTable;
+
+    /**
+     *
+     * @param formulas the formula of each row, <code>null</code> for rows that
+     * are not scored from the dice
+     * @param numOfDice
+     */
+    public ScoringEngine(ScoreFormula[] formulas, int numOfDice) {
+        mFormulas = formulas.clone();
+        mScoreTable = new ScoreTable(mFormulas, numOfDice);
+    }
+
+    public ScoreFormula getFormula(int row) {
+        return mFormulas[row];
+    }
+
+    public int getNumOfDice() {
+        return mScoreTable.getOutcomes().getNumOfDice();
+    }
+
+    public int getNumOfRows() {
+        return mFormulas.length;
+    }
+
+    public ScoreTable getScoreTable() {
+        return mScoreTable;
+    }
+
+    public boolean isScored(int row) {
+        return mFormulas[row] != null;
+    }
+
+    /**
+     *
+     * @param hand see {@link Hand}
+     * @return the score of every row, 0 for rows that are not scored from the
+     * dice
+     */
+    public int[] score(long hand) {
+        var scores = new int[mFormulas.length];
+        score(hand, scores);
+
+        return scores;
+    }
+
+    /**
+     *
+     * @param hand see {@link Hand}
+     * @param scores receives the score of every row
+     */
+    public void score(long hand, int[] scores) {
+        int outcome = indexOf(hand);
+        for (int row = 0; row < mFormulas.length; row++) {
+            scores[row] = mScoreTable.getScore(row, outcome);
+        }
+    }
+
+    public int score(int row, long hand) {
+        return mScoreTable.getScore(row, indexOf(hand));
+    }
+
+    /**
+     *
+     * @param hands see {@link Hand}
+     * @param result receives <code>hands.length * getNumOfRows()</code>
+     * scores
+     */
+    public void scoreHands(long[] hands, short[] result) {
+        checkResultSize(hands.length, result);
+        int numOfRows = mFormulas.length;
+
+        for (int i = 0, pos = 0; i < hands.length; i++, pos += numOfRows) {
+            mScoreTable.getScores(indexOf(hands[i]), result, pos);
+        }
+    }
+
+    /**
+     *
+     * @param outcomes outcome indices, see {@link DiceOutcomes}
+     * @param result receives <code>outcomes.length * getNumOfRows()</code>
+     * scores
+     */
+    public void scoreOutcomes(int[] outcomes, short[] result) {
+        checkResultSize(outcomes.length, result);
+        int numOfRows = mFormulas.length;
+
+        for (int i = 0, pos = 0; i < outcomes.length; i++, pos += numOfRows) {
+            mScoreTable.getScores(outcomes[i], result, pos);
+        }
+    }
+
+    private void checkResultSize(int numOfHands, short[] result) {
+        if (result.length < numOfHands * mFormulas.length) {
+            throw new IllegalArgumentException("Result holds %d scores, %d needed".formatted(result.length, numOfHands * mFormulas.length));
+        }
+    }
+
+    private int indexOf(long hand) {
+        if (Hand.size(hand) != getNumOfDice()) {
+            throw new IllegalArgumentException("Expected %d dice, got %s".formatted(getNumOfDice(), Hand.toString(hand)));
+        }
+
+        return mScoreTable.getOutcomes().indexOf(hand);
+    }
+}
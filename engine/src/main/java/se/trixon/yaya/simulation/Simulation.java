@@ -0,0 +1,178 @@
+/*
+ * Copyright 2026 Patrik Karlström <patrik@trixon.se>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package se.trixon.yaya.simulation;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+import se.trixon.yaya.bot.BotStrength;
+import se.trixon.yaya.engine.GameRules;
+import se.trixon.yaya.engine.GameSnapshot;
+import se.trixon.yaya.scoring.Hand;
+import se.trixon.yaya.solver.StrategyTable;
+
+/**
+ * Plays a large number of single player games without any presentation.
+ * <p>
+ * The games are played in chunks on a fork-join pool. Every chunk has its
+ * own bot, its own random stream, split in advance from the seed, and its
+ * own {@link SimulationStats}, so the workers share nothing while playing
+ * and the result of a seed is the same on any number of threads. The result
+ * of a chunk is merged into the total when it is done, and the listener gets
+ * a copy of the total so far.
+ *
+ * @author Patrik Karlström <patrik@trixon.se>
+ */
+public final class Simulation {
+
+    public static final int GAMES_PER_CHUNK = 4096;
+    private final GameRules mRules;
+    private final BotStrength mStrength;
+    private final StrategyTable mTable;
+
+    /**
+     *
+     * @param rules
+     * @param strength
+     * @param table the solved strategy, only needed for
+     * {@link BotStrength#OPTIMAL}
+     */
+    public Simulation(GameRules rules, BotStrength strength, StrategyTable table) {
+        mRules = rules;
+        mStrength = strength;
+        mTable = table;
+    }
+
+    public GameRules getRules() {
+        return mRules;
+    }
+
+    public BotStrength getStrength() {
+        return mStrength;
+    }
+
+    public SimulationStats run(long numOfGames, long seed) {
+        return run(numOfGames, seed, ForkJoinPool.commonPool(), null);
+    }
+
+    /**
+     *
+     * @param numOfGames
+     * @param seed
+     * @param pool
+     * @param listener receives the total so far after every chunk, one call
+     * at a time, may be <code>null</code>
+     * @return the total
+     */
+    public SimulationStats run(long numOfGames, long seed, ForkJoinPool pool, Consumer<SimulationStats> listener) {
+        if (numOfGames < 0) {
+            throw new IllegalArgumentException("Number of games: " + numOfGames);
+        }
+
+        int numOfChunks = Math.toIntExact((numOfGames + GAMES_PER_CHUNK - 1) / GAMES_PER_CHUNK);
+        var randoms = new SplittableRandom[numOfChunks];
+        var random = new SplittableRandom(seed);
+        for (int i = 0; i < numOfChunks; i++) {
+            randoms[i] = random.split();
+        }
+
+        var total = new SimulationStats(mRules);
+        long startNanos = System.nanoTime();
+        if (numOfChunks > 0) {
+            pool.invoke(new ChunkTask(randoms, 0, numOfChunks, numOfGames, total, startNanos, listener));
+        }
+        total.setElapsedNanos(System.nanoTime() - startNanos);
+
+        return total;
+    }
+
+    private void play(SplittableRandom random, int numOfGames, SimulationStats stats) {
+        var bot = mStrength.newBot(mRules, mTable, random);
+
+        for (int game = 0; game < numOfGames; game++) {
+            var snapshot = new GameSnapshot(mRules, 1);
+            while (!snapshot.isGameOver()) {
+                long keep = Hand.EMPTY;
+                while (true) {
+                    long hand = keep;
+                    for (int i = Hand.size(keep); i < mRules.getNumOfDice(); i++) {
+                        hand = Hand.add(hand, random.nextInt(Hand.FACES) + 1);
+                    }
+                    snapshot = snapshot.roll(hand);
+
+                    if (!snapshot.canRoll()) {
+                        break;
+                    }
+
+                    keep = bot.getKeep(snapshot.getActivePlayerState(), snapshot.getTurnState());
+                    if (keep == hand) {
+                        break;
+                    }
+                }
+
+                snapshot = snapshot.register(bot.getRow(snapshot.getActivePlayerState(), snapshot.getTurnState()));
+            }
+
+            stats.add(snapshot.getPlayerState(0));
+        }
+    }
+
+    @SuppressWarnings("serial")
+    private class ChunkTask extends RecursiveAction {
+
+        private final int mFrom;
+        private final Consumer<SimulationStats> mListener;
+        private final long mNumOfGames;
+        private final SplittableRandom[] mRandoms;
+        private final long mStartNanos;
+        private final int mTo;
+        private final SimulationStats mTotal;
+
+        ChunkTask(SplittableRandom[] randoms, int from, int to, long numOfGames, SimulationStats total, long startNanos, Consumer<SimulationStats> listener) {
+            mRandoms = randoms;
+            mFrom = from;
+            mTo = to;
+            mNumOfGames = numOfGames;
+            mTotal = total;
+            mStartNanos = startNanos;
+            mListener = listener;
+        }
+
+        @Override
+        protected void compute() {
+            if (mTo - mFrom > 1) {
+                int middle = (mFrom + mTo) >>> 1;
+                invokeAll(new ChunkTask(mRandoms, mFrom, middle, mNumOfGames, mTotal, mStartNanos, mListener),
+                        new ChunkTask(mRandoms, middle, mTo, mNumOfGames, mTotal, mStartNanos, mListener));
+
+                return;
+            }
+
+            var stats = new SimulationStats(mRules);
+            int numOfGames = (int) Math.min(GAMES_PER_CHUNK, mNumOfGames - (long) mFrom * GAMES_PER_CHUNK);
+            play(mRandoms[mFrom], numOfGames, stats);
+
+            synchronized (mTotal) {
+                mTotal.merge(stats);
+                mTotal.setElapsedNanos(System.nanoTime() - mStartNanos);
+                if (mListener != null) {
+                    mListener.accept(mTotal.copy());
+                }
+            }
+        }
+    }
+}
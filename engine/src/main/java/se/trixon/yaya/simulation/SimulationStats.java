@@ -0,0 +1,209 @@
+/*
+ * Copyright 2026 Patrik Karlström <patrik@trixon.se>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package se.trixon.yaya.simulation;
+
+import java.util.Arrays;
+import se.trixon.yaya.engine.GameRules;
+import se.trixon.yaya.engine.PlayerState;
+
+/**
+ * Aggregated results of simulated games.
+ * <p>
+ * The final scores are kept as a histogram, so the mean, variance and
+ * percentiles are exact and two results are merged by adding counts. For
+ * every row the number of games where it scored is counted, which for a
+ * bonus row is the bonus rate. A result is not thread-safe, each worker
+ * fills its own and they are merged afterwards.
+ *
+ * @author Patrik Karlström <patrik@trixon.se>
+ */
+public final class SimulationStats {
+
+    private long mElapsedNanos;
+    private long[] mHistogram = new long[512];
+    private int mMax = Integer.MIN_VALUE;
+    private int mMin = Integer.MAX_VALUE;
+    private long mNumOfGames;
+    private final long[] mRowHits;
+    private final GameRules mRules;
+    private long mSum;
+
+    public SimulationStats(GameRules rules) {
+        mRules = rules;
+        mRowHits = new long[rules.getNumOfRows()];
+    }
+
+    /**
+     * Adds the result of a finished game.
+     *
+     * @param playerState
+     * @throws IllegalArgumentException if the final score is negative
+     */
+    public void add(PlayerState playerState) {
+        int score = playerState.getTotal();
+        if (score < 0) {
+            throw new IllegalArgumentException("Negative score: " + score);
+        }
+
+        if (score >= mHistogram.length) {
+            mHistogram = Arrays.copyOf(mHistogram, Math.max(score + 1, mHistogram.length * 2));
+        }
+
+        mHistogram[score]++;
+        mNumOfGames++;
+        mSum += score;
+        mMin = Math.min(mMin, score);
+        mMax = Math.max(mMax, score);
+
+        for (int row = 0; row < mRowHits.length; row++) {
+            if (playerState.getScore(row) > 0) {
+                mRowHits[row]++;
+            }
+        }
+    }
+
+    public SimulationStats copy() {
+        var copy = new SimulationStats(mRules);
+        copy.merge(this);
+        copy.mElapsedNanos = mElapsedNanos;
+
+        return copy;
+    }
+
+    public long getElapsedNanos() {
+        return mElapsedNanos;
+    }
+
+    /**
+     *
+     * @return the number of games per second, 0 if no time has been spent
+     */
+    public double getGamesPerSecond() {
+        return mElapsedNanos > 0 ? mNumOfGames * 1e9 / mElapsedNanos : 0;
+    }
+
+    public int getMax() {
+        return mMax;
+    }
+
+    public double getMean() {
+        return mNumOfGames > 0 ? (double) mSum / mNumOfGames : Double.NaN;
+    }
+
+    public int getMin() {
+        return mMin;
+    }
+
+    public long getNumOfGames() {
+        return mNumOfGames;
+    }
+
+    /**
+     *
+     * @param percent 0 to 100
+     * @return the lowest score that at least <code>percent</code> of the
+     * games did not exceed
+     */
+    public int getPercentile(double percent) {
+        if (percent < 0 || percent > 100) {
+            throw new IllegalArgumentException("Percent: " + percent);
+        }
+
+        if (mNumOfGames == 0) {
+            throw new IllegalStateException("No games");
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(percent / 100 * mNumOfGames));
+        long count = 0;
+        for (int score = mMin; score < mMax; score++) {
+            count += mHistogram[score];
+            if (count >= rank) {
+                return score;
+            }
+        }
+
+        return mMax;
+    }
+
+    /**
+     *
+     * @param row
+     * @return the share of the games where the row scored, for a bonus row
+     * the bonus rate
+     */
+    public double getRowRate(int row) {
+        return mNumOfGames > 0 ? (double) mRowHits[row] / mNumOfGames : Double.NaN;
+    }
+
+    public GameRules getRules() {
+        return mRules;
+    }
+
+    public double getStandardDeviation() {
+        return Math.sqrt(getVariance());
+    }
+
+    /**
+     *
+     * @return the sample variance of the final score
+     */
+    public double getVariance() {
+        if (mNumOfGames < 2) {
+            return Double.NaN;
+        }
+
+        double mean = getMean();
+        double sum = 0;
+        for (int score = mMin; score <= mMax; score++) {
+            double deviation = score - mean;
+            sum += mHistogram[score] * deviation * deviation;
+        }
+
+        return sum / (mNumOfGames - 1);
+    }
+
+    /**
+     * Adds the games of another result.
+     *
+     * @param other
+     */
+    public void merge(SimulationStats other) {
+        if (other.mNumOfGames == 0) {
+            return;
+        }
+
+        if (other.mMax >= mHistogram.length) {
+            mHistogram = Arrays.copyOf(mHistogram, other.mMax + 1);
+        }
+
+        for (int score = other.mMin; score <= other.mMax; score++) {
+            mHistogram[score] += other.mHistogram[score];
+        }
+
+        for (int row = 0; row < mRowHits.length; row++) {
+            mRowHits[row] += other.mRowHits[row];
+        }
+
+        mNumOfGames += other.mNumOfGames;
+        mSum += other.mSum;
+        mMin = Math.min(mMin, other.mMin);
+        mMax = Math.max(mMax, other.mMax);
+    }
+
+    void setElapsedNanos(long elapsedNanos) {
+        mElapsedNanos = elapsedNanos;
+    }
+}
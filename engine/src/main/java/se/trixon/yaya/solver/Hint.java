@@ -0,0 +1,30 @@
+/*
+ * Copyright 2026 Patrik Karlström <patrik@trixon.se>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package se.trixon.yaya.solver;
+
+/**
+ * The best move after a roll.
+ *
+ * @author Patrik Karlström <patrik@trixon.se>
+ * @param keep the dice to keep, as a hand, when rolling again
+ * @param row the row to register the dice in when not rolling again
+ * @param reroll true if rolling again is better than registering now
+ * @param expectedScore the expected final score of the player when following
+ * the hint and playing optimally after that
+ */
+public record Hint(long keep, int row, boolean reroll, float expectedScore) {
+
+}
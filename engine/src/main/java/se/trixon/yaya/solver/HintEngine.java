@@ -0,0 +1,74 @@
+/*
+ * Copyright 2026 Patrik Karlström <patrik@trixon.se>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package se.trixon.yaya.solver;
+
+import se.trixon.yaya.engine.PlayerState;
+import se.trixon.yaya.engine.TurnState;
+
+/**
+ * Finds the best move of a player from a solved {@link StrategyTable}.
+ * <p>
+ * The turn is solved once when the first hint of a turn is asked for, after
+ * that a hint is a few table lookups. Every part of the dice is weighed, with
+ * equal faces counted once, against registering the dice in each open row.
+ * An engine is not thread-safe.
+ *
+ * @author Patrik Karlström <patrik@trixon.se>
+ */
+public final class HintEngine {
+
+    private final int mNumOfRolls;
+    private final StrategyTable mTable;
+    private final TurnSolver mTurnSolver;
+
+    public HintEngine(StrategyTable table) {
+        mTable = table;
+        mTurnSolver = table.newTurnSolver();
+        mNumOfRolls = table.getRules().getNumOfRolls();
+    }
+
+    /**
+     *
+     * @param playerState
+     * @param turnState
+     * @return the best move, or <code>null</code> before the first roll of a
+     * turn or when the player has no rows left
+     */
+    public Hint getHint(PlayerState playerState, TurnState turnState) {
+        if (!turnState.isRolled() || playerState.isDone()) {
+            return null;
+        }
+
+        mTurnSolver.solve(playerState);
+        long hand = turnState.getHand();
+        int rollsLeft = mNumOfRolls - turnState.getNumOfRolls();
+        int row = mTurnSolver.getBestRow(hand);
+        int total = playerState.getTotal();
+
+        if (rollsLeft > 0) {
+            long keep = mTurnSolver.getBestKeep(hand, rollsLeft);
+            if (keep != hand) {
+                return new Hint(keep, row, true, total + mTurnSolver.getKeepValue(keep, rollsLeft));
+            }
+        }
+
+        return new Hint(hand, row, false, total + mTurnSolver.getRowValue(row, hand));
+    }
+
+    public StrategyTable getTable() {
+        return mTable;
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2026 Patrik Karlström <patrik@trixon.se>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package se.trixon.yaya.solver;
+
+import java.util.concurrent.ConcurrentHashMap;
+import se.trixon.yaya.scoring.DiceOutcomes;
+import se.trixon.yaya.scoring.Hand;
+
+/**
+ * Every hand of zero up to all dice, linked by adding and removing one die.
+ * <p>
+ * The hands are ordered by size, largest first, so the full hands come
+ * first and share their index with {@link DiceOutcomes}. A walk over
+ * ascending indices visits a hand after every hand it can grow into, and a
+ * walk over descending indices after every hand it can shrink into.
+ *
+ * @author Patrik Karlström <patrik@trixon.se>
+ */
+final class KeepGraph {
+
+    static final int NONE = -1;
+    private static final ConcurrentHashMap<Integer, KeepGraph> sCache = new ConcurrentHashMap<>();
+    private final int[] mAdd;
+    private final long[] mHands;
+    private final int mNumOfDice;
+    private final int mNumOfOutcomes;
+    private final int[] mOffsets;
+    private final int[] mRemove;
+
+    static KeepGraph of(int numOfDice) {
+        return sCache.computeIfAbsent(numOfDice, KeepGraph::new);
+    }
+
+    private KeepGraph(int numOfDice) {
+        mNumOfDice = numOfDice;
+        mNumOfOutcomes = DiceOutcomes.of(numOfDice).size();
+        mOffsets = new int[numOfDice + 2];
+
+        for (int size = numOfDice; size >= 0; size--) {
+            mOffsets[size] = mOffsets[size + 1] + (size == numOfDice ? 0 : DiceOutcomes.of(size + 1).size());
+        }
+
+        int numOfHands = mOffsets[0] + 1;
+        mHands = new long[numOfHands];
+        mAdd = new int[numOfHands * Hand.FACES];
+        mRemove = new int[numOfHands * Hand.FACES];
+
+        for (int size = numOfDice; size >= 0; size--) {
+            var outcomes = DiceOutcomes.of(size);
+            for (int i = 0; i < outcomes.size(); i++) {
+                mHands[mOffsets[size] + i] = outcomes.getHand(i);
+            }
+        }
+
+        for (int index = 0; index < numOfHands; index++) {
+            long hand = mHands[index];
+            int size = Hand.size(hand);
+            for (int face = 1; face <= Hand.FACES; face++) {
+                int edge = index * Hand.FACES + face - 1;
+                mAdd[edge] = size < numOfDice ? indexOf(Hand.add(hand, face)) : NONE;
+                mRemove[edge] = Hand.count(hand, face) > 0 ? indexOf(Hand.remove(hand, face)) : NONE;
+            }
+        }
+    }
+
+    /**
+     *
+     * @param index
+     * @param face
+     * @return the index of the hand with one more die showing
+     * <code>face</code>, or {@link #NONE} for a full hand
+     */
+    int add(int index, int face) {
+        return mAdd[index * Hand.FACES + face - 1];
+    }
+
+    long getHand(int index) {
+        return mHands[index];
+    }
+
+    int getNumOfDice() {
+        return mNumOfDice;
+    }
+
+    /**
+     *
+     * @return the number of full hands, which come first
+     */
+    int getNumOfOutcomes() {
+        return mNumOfOutcomes;
+    }
+
+    int indexOf(long hand) {
+        return mOffsets[Hand.size(hand)] + DiceOutcomes.of(Hand.size(hand)).indexOf(hand);
+    }
+
+    /**
+     *
+     * @param index
+     * @param face
+     * @return the index of the hand with one die showing <code>face</code>
+     * less, or {@link #NONE} if there is none
+     */
+    int remove(int index, int face) {
+        return mRemove[index * Hand.FACES + face - 1];
+    }
+
+    int size() {
+        return mHands.length;
+    }
+}
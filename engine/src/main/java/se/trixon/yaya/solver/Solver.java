@@ -0,0 +1,138 @@
+/*
+ * Copyright 2026 Patrik Karlström <patrik@trixon.se>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package se.trixon.yaya.solver;
+
+import java.nio.FloatBuffer;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import se.trixon.yaya.engine.GameRules;
+
+/**
+ * Computes the strategy that maximises the expected score of a single
+ * player by retrograde dynamic programming over the score card states.
+ * <p>
+ * The states are solved in layers by the number of registered rows, from a
+ * full card back to an empty one, since a turn only leads to states with one
+ * more row registered. The states of a layer are independent of each other
+ * and are solved in parallel. Bonus progress that the registered rows can
+ * not have reached is skipped.
+ *
+ * @author Patrik Karlström <patrik@trixon.se>
+ */
+public final class Solver {
+
+    private static final int MASKS_PER_TASK = 16;
+    private final StateModel mModel;
+
+    /**
+     *
+     * @param rules
+     * @throws IllegalArgumentException if the rules have no roll limit or too
+     * many states
+     */
+    public Solver(GameRules rules) {
+        mModel = new StateModel(rules);
+    }
+
+    public int getNumOfStates() {
+        return mModel.getNumOfStates();
+    }
+
+    public StrategyTable solve() {
+        return solve(ForkJoinPool.commonPool());
+    }
+
+    public StrategyTable solve(ForkJoinPool pool) {
+        int numOfPlayable = mModel.getNumOfPlayable();
+        var values = FloatBuffer.allocate(mModel.getNumOfStates());
+        var layers = new int[numOfPlayable + 1][];
+        var layerSizes = new int[numOfPlayable + 1];
+
+        for (int mask = 0; mask < 1 << numOfPlayable; mask++) {
+            layerSizes[Integer.bitCount(mask)]++;
+        }
+        for (int i = 0; i < layers.length; i++) {
+            layers[i] = new int[layerSizes[i]];
+            layerSizes[i] = 0;
+        }
+        for (int mask = 0; mask < 1 << numOfPlayable; mask++) {
+            int layer = Integer.bitCount(mask);
+            layers[layer][layerSizes[layer]++] = mask;
+        }
+
+        for (int layer = numOfPlayable - 1; layer >= 0; layer--) {
+            pool.invoke(new LayerTask(values, layers[layer], 0, layers[layer].length));
+        }
+
+        return new StrategyTable(mModel, values);
+    }
+
+    @SuppressWarnings("serial")
+    private class LayerTask extends RecursiveAction {
+
+        private final int mFrom;
+        private final int[] mMasks;
+        private final int mTo;
+        private final FloatBuffer mValues;
+
+        LayerTask(FloatBuffer values, int[] masks, int from, int to) {
+            mValues = values;
+            mMasks = masks;
+            mFrom = from;
+            mTo = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (mTo - mFrom > MASKS_PER_TASK) {
+                int middle = (mFrom + mTo) >>> 1;
+                invokeAll(new LayerTask(mValues, mMasks, mFrom, middle), new LayerTask(mValues, mMasks, middle, mTo));
+
+                return;
+            }
+
+            var turnSolver = new TurnSolver(mModel, mValues);
+            int numOfBonuses = mModel.getNumOfBonuses();
+            int numOfProgress = mModel.getNumOfProgress();
+            var maxProgress = new int[numOfBonuses];
+
+            for (int i = mFrom; i < mTo; i++) {
+                int mask = mMasks[i];
+                for (int b = 0; b < numOfBonuses; b++) {
+                    maxProgress[b] = mModel.getMaxProgress(mask, b);
+                }
+
+                for (int progress = 0; progress < numOfProgress; progress++) {
+                    if (isReachable(progress, maxProgress)) {
+                        turnSolver.solve(mask, progress);
+                        mValues.put(mask * numOfProgress + progress, turnSolver.getTurnValue());
+                    }
+                }
+            }
+        }
+
+        private boolean isReachable(int progress, int[] maxProgress) {
+            for (int b = 0; b < maxProgress.length; b++) {
+                int digit = progress / mModel.getBonusStride(b) % (mModel.getBonusLim(b) + 1);
+                if (digit > maxProgress[b]) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+    }
+}
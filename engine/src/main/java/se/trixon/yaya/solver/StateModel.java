@@ -0,0 +1,297 @@
+/*
+ * Copyright 2026 Patrik Karlström <patrik@trixon.se>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package se.trixon.yaya.solver;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import se.trixon.yaya.engine.GameRules;
+import se.trixon.yaya.engine.GameRules.RowType;
+import se.trixon.yaya.engine.PlayerState;
+
+/**
+ * The score card of a rule reduced to what matters for the rest of a game:
+ * which playable rows are registered and how far each bonus has come.
+ * <p>
+ * A state is <code>mask * getNumOfProgress() + progress</code>, where bit
+ * <code>j</code> of the mask is the <code>j</code>th playable row and the
+ * progress is a mixed radix number with one digit per bonus, the sum of
+ * its rows capped at its limit. Sum rows are followed down to the playable
+ * rows, and bonuses that are not part of the result are left out.
+ *
+ * @author Patrik Karlström <patrik@trixon.se>
+ */
+final class StateModel {
+
+    private final int[] mBonusLims;
+    private final int[] mBonusRewards;
+    private final int[] mBonusStrides;
+    private final int[][] mBonusWeights;
+    private final int[] mMaxScores;
+    private final int mNumOfProgress;
+    private final int[] mRows;
+    private final GameRules mRules;
+    private final short[][] mScores;
+    private final int[] mWeights;
+
+    StateModel(GameRules rules) {
+        if (rules.getNumOfRolls() < 1) {
+            throw new IllegalArgumentException("Rules without a roll limit can not be solved");
+        }
+
+        mRules = rules;
+        mRows = rules.getPlayableRows();
+        if (mRows.length >= Integer.SIZE - 1) {
+            throw new IllegalArgumentException("Too many playable rows: " + mRows.length);
+        }
+
+        int numOfRows = rules.getNumOfRows();
+        var rowWeights = new int[numOfRows];
+        var bonusRowWeights = new int[numOfRows];
+        int resultRow = rules.getResultRow();
+        if (resultRow < 0) {
+            for (int row : mRows) {
+                rowWeights[row] = 1;
+            }
+        } else {
+            expand(resultRow, rowWeights, bonusRowWeights);
+        }
+
+        mWeights = new int[mRows.length];
+        for (int j = 0; j < mRows.length; j++) {
+            mWeights[j] = rowWeights[mRows[j]];
+        }
+
+        var lims = new ArrayList<Integer>();
+        var rewards = new ArrayList<Integer>();
+        var weights = new ArrayList<int[]>();
+        for (int row = 0; row < numOfRows; row++) {
+            var gameRow = rules.getRow(row);
+            if (gameRow.type() != RowType.BONUS || bonusRowWeights[row] == 0 || gameRow.max() == 0) {
+                continue;
+            }
+
+            var sumWeights = new int[numOfRows];
+            var nestedBonuses = new int[numOfRows];
+            expand(row, sumWeights, nestedBonuses);
+            for (int nested : nestedBonuses) {
+                if (nested != 0) {
+                    throw new IllegalArgumentException("A bonus of a bonus can not be solved, row " + row);
+                }
+            }
+
+            var bonusWeights = new int[mRows.length];
+            boolean used = false;
+            for (int j = 0; j < mRows.length; j++) {
+                bonusWeights[j] = sumWeights[mRows[j]];
+                used |= bonusWeights[j] != 0;
+            }
+
+            if (used && gameRow.lim() > 0) {
+                lims.add(gameRow.lim());
+                rewards.add(gameRow.max() * bonusRowWeights[row]);
+                weights.add(bonusWeights);
+            }
+        }
+
+        mBonusLims = lims.stream().mapToInt(Integer::intValue).toArray();
+        mBonusRewards = rewards.stream().mapToInt(Integer::intValue).toArray();
+        mBonusWeights = weights.toArray(int[][]::new);
+        mBonusStrides = new int[mBonusLims.length];
+
+        long numOfProgress = 1;
+        for (int b = 0; b < mBonusLims.length; b++) {
+            mBonusStrides[b] = (int) numOfProgress;
+            numOfProgress *= mBonusLims[b] + 1;
+        }
+
+        if ((numOfProgress << mRows.length) > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Too many states: %d".formatted(numOfProgress << mRows.length));
+        }
+        mNumOfProgress = (int) numOfProgress;
+
+        var scoreTable = rules.getScoringEngine().getScoreTable();
+        int numOfOutcomes = scoreTable.getOutcomes().size();
+        mScores = new short[mRows.length][numOfOutcomes];
+        mMaxScores = new int[mRows.length];
+        for (int j = 0; j < mRows.length; j++) {
+            for (int outcome = 0; outcome < numOfOutcomes; outcome++) {
+                mScores[j][outcome] = (short) scoreTable.getScore(mRows[j], outcome);
+                mMaxScores[j] = Math.max(mMaxScores[j], mScores[j][outcome]);
+            }
+        }
+    }
+
+    int getBonusLim(int bonus) {
+        return mBonusLims[bonus];
+    }
+
+    int getBonusReward(int bonus) {
+        return mBonusRewards[bonus];
+    }
+
+    int getBonusStride(int bonus) {
+        return mBonusStrides[bonus];
+    }
+
+    int getBonusWeight(int bonus, int j) {
+        return mBonusWeights[bonus][j];
+    }
+
+    /**
+     *
+     * @param mask
+     * @param bonus
+     * @return the highest progress of a bonus that the registered rows can
+     * have reached
+     */
+    int getMaxProgress(int mask, int bonus) {
+        int max = 0;
+        for (int j = 0; j < mRows.length; j++) {
+            if ((mask & (1 << j)) != 0) {
+                max += mMaxScores[j] * mBonusWeights[bonus][j];
+            }
+        }
+
+        return Math.min(max, mBonusLims[bonus]);
+    }
+
+    /**
+     *
+     * @return a SHA-256 digest of everything the solved values depend on: the
+     * dice, the rolls, the score of every row for every outcome and the
+     * bonuses
+     */
+    byte[] getDigest() {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+
+        var buffer = ByteBuffer.allocate(Integer.BYTES * 4);
+        buffer.putInt(mRules.getNumOfDice()).putInt(mRules.getNumOfRolls()).putInt(mRows.length).putInt(mBonusLims.length);
+        digest.update(buffer.array());
+
+        for (int j = 0; j < mRows.length; j++) {
+            buffer = ByteBuffer.allocate(Integer.BYTES + Short.BYTES * mScores[j].length);
+            buffer.putInt(mWeights[j]);
+            for (short score : mScores[j]) {
+                buffer.putShort(score);
+            }
+            digest.update(buffer.array());
+        }
+
+        for (int b = 0; b < mBonusLims.length; b++) {
+            buffer = ByteBuffer.allocate(Integer.BYTES * (2 + mRows.length));
+            buffer.putInt(mBonusLims[b]).putInt(mBonusRewards[b]);
+            for (int weight : mBonusWeights[b]) {
+                buffer.putInt(weight);
+            }
+            digest.update(buffer.array());
+        }
+
+        return digest.digest();
+    }
+
+    int getMask(PlayerState playerState) {
+        int mask = 0;
+        for (int j = 0; j < mRows.length; j++) {
+            if (playerState.isRegistered(mRows[j])) {
+                mask |= 1 << j;
+            }
+        }
+
+        return mask;
+    }
+
+    int getNumOfBonuses() {
+        return mBonusLims.length;
+    }
+
+    int getNumOfPlayable() {
+        return mRows.length;
+    }
+
+    int getNumOfProgress() {
+        return mNumOfProgress;
+    }
+
+    int getNumOfStates() {
+        return mNumOfProgress << mRows.length;
+    }
+
+    int getProgress(PlayerState playerState) {
+        int progress = 0;
+        for (int b = 0; b < mBonusLims.length; b++) {
+            int sum = 0;
+            for (int j = 0; j < mRows.length; j++) {
+                sum += mBonusWeights[b][j] * playerState.getScore(mRows[j]);
+            }
+            progress += Math.min(sum, mBonusLims[b]) * mBonusStrides[b];
+        }
+
+        return progress;
+    }
+
+    int getRow(int j) {
+        return mRows[j];
+    }
+
+    GameRules getRules() {
+        return mRules;
+    }
+
+    int getScore(int j, int outcome) {
+        return mScores[j][outcome];
+    }
+
+    int getWeight(int j) {
+        return mWeights[j];
+    }
+
+    /**
+     *
+     * @param row
+     * @return the playable index of a row, or -1 if it is not playable
+     */
+    int indexOf(int row) {
+        for (int j = 0; j < mRows.length; j++) {
+            if (mRows[j] == row) {
+                return j;
+            }
+        }
+
+        return -1;
+    }
+
+    private void expand(int row, int[] rowWeights, int[] bonusWeights) {
+        for (int sumRow : mRules.getRow(row).sumRows()) {
+            switch (mRules.getRow(sumRow).type()) {
+                case PLAYABLE ->
+                    rowWeights[sumRow]++;
+                case BONUS ->
+                    bonusWeights[sumRow]++;
+                case SUM, RESULT ->
+                    expand(sumRow, rowWeights, bonusWeights);
+                case ROLL_COUNTER -> {
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2026 Patrik Karlström <patrik@trixon.se>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package se.trixon.yaya.solver;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import se.trixon.yaya.engine.GameRules;
+
+/**
+ * A solved {@link StrategyTable} on disk.
+ * <p>
+ * The file is a header followed by the values as little endian floats:
+ * <pre>
+ * bytes  0-7   magic
+ * bytes  8-11  format version
+ * bytes 12-15  number of states
+ * bytes 16-47  digest of the rule, see StateModel.getDigest()
+ * bytes 48-63  reserved
+ * </pre> The values of a file are memory mapped when read, so they are paged
+ * in on demand instead of being copied to the heap. A file written for another
+ * rule, or by another version of the solver, is not read, and not mapped, so
+ * that it can be replaced.
+ *
+ * @author Patrik Karlström <patrik@trixon.se>
+ */
+public final class StrategyFile {
+
+    public static final int VERSION = 1;
+    private static final int CHUNK_SIZE = 1 << 16;
+    private static final int DIGEST_SIZE = 32;
+    private static final int HEADER_SIZE = 64;
+    private static final long MAGIC = 0x5941594153545254L;
+
+    /**
+     *
+     * @param path
+     * @param rules
+     * @return the table, or <code>null</code> if there is no file or it was
+     * written for other rules or by another version
+     * @throws IOException
+     */
+    public static StrategyTable read(Path path, GameRules rules) throws IOException {
+        if (!Files.isRegularFile(path)) {
+            return null;
+        }
+
+        var model = new StateModel(rules);
+        long dataSize = (long) model.getNumOfStates() * Float.BYTES;
+
+        try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() != HEADER_SIZE + dataSize) {
+                return null;
+            }
+
+            var header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            readFully(channel, header);
+            var digest = new byte[DIGEST_SIZE];
+            header.get(16, digest);
+
+            if (header.getLong(0) != MAGIC
+                    || header.getInt(8) != VERSION
+                    || header.getInt(12) != model.getNumOfStates()
+                    || !Arrays.equals(digest, model.getDigest())) {
+                return null;
+            }
+
+            var values = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE, dataSize).order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer();
+
+            return new StrategyTable(model, values);
+        }
+    }
+
+    /**
+     * Writes a table to a temporary file that then replaces the file at
+     * <code>path</code>, so that a reader never sees a partial file.
+     *
+     * @param table
+     * @param path
+     * @throws IOException
+     */
+    public static void write(StrategyTable table, Path path) throws IOException {
+        var model = table.getModel();
+        var tempPath = path.resolveSibling(path.getFileName() + ".tmp");
+
+        try (var channel = FileChannel.open(tempPath, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            var header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            header.putLong(MAGIC).putInt(VERSION).putInt(model.getNumOfStates()).put(model.getDigest());
+            header.clear();
+            writeFully(channel, header);
+
+            var values = table.getValues();
+            var chunk = ByteBuffer.allocate(CHUNK_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            while (values.hasRemaining()) {
+                chunk.clear();
+                while (values.hasRemaining() && chunk.hasRemaining()) {
+                    chunk.putFloat(values.get());
+                }
+                chunk.flip();
+                writeFully(channel, chunk);
+            }
+
+            channel.force(true);
+        }
+
+        Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new EOFException();
+            }
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private StrategyFile() {
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2026 Patrik Karlström <patrik@trixon.se>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package se.trixon.yaya.solver;
+
+import java.nio.FloatBuffer;
+import se.trixon.yaya.engine.GameRules;
+import se.trixon.yaya.engine.PlayerState;
+
+/**
+ * The expected score still to come, with optimal play, from the start of a
+ * turn in every state of a score card.
+ * <p>
+ * A table is immutable once solved and can be shared between threads. The
+ * values are either on the heap, right after solving, or mapped from a
+ * {@link StrategyFile}. The play within a turn is derived from it with a
+ * {@link TurnSolver}.
+ *
+ * @author Patrik Karlström <patrik@trixon.se>
+ */
+public final class StrategyTable {
+
+    private final StateModel mModel;
+    private final FloatBuffer mValues;
+
+    StrategyTable(StateModel model, FloatBuffer values) {
+        mModel = model;
+        mValues = values;
+    }
+
+    /**
+     *
+     * @return the expected final score of a game played optimally
+     */
+    public float getExpectedScore() {
+        return mValues.get(0);
+    }
+
+    public int getNumOfStates() {
+        return mValues.capacity();
+    }
+
+    public GameRules getRules() {
+        return mModel.getRules();
+    }
+
+    /**
+     *
+     * @param playerState
+     * @return the expected score still to come before the next turn of the
+     * player
+     */
+    public float getValue(PlayerState playerState) {
+        return mValues.get(mModel.getMask(playerState) * mModel.getNumOfProgress() + mModel.getProgress(playerState));
+    }
+
+    /**
+     *
+     * @return a new solver for the turns of this table, to be used by one
+     * thread at a time
+     */
+    public TurnSolver newTurnSolver() {
+        return new TurnSolver(mModel, mValues);
+    }
+
+    StateModel getModel() {
+        return mModel;
+    }
+
+    FloatBuffer getValues() {
+        return mValues.duplicate();
+    }
+}
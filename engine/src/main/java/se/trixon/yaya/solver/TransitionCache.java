@@ -0,0 +1,178 @@
+/*
+ * Copyright 2026 Patrik Karlström <patrik@trixon.se>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package se.trixon.yaya.solver;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import se.trixon.yaya.scoring.DiceOutcomes;
+import se.trixon.yaya.scoring.Hand;
+
+/**
+ * The probability of every outcome of a reroll, for every part of the dice
+ * that can be kept.
+ * <p>
+ * A keep is any hand of zero up to all dice, indexed as in
+ * {@link KeepGraph}, and the other dice are rerolled. The distributions are
+ * sparse, since a keep only leads to outcomes that contain it, and are
+ * stored in compressed rows: the entries of keep <code>k</code> are
+ * <code>getStart(k)</code> up to <code>getEnd(k)</code>, each with an
+ * outcome index, see {@link DiceOutcomes}, and its probability. The entries
+ * of a keep are sorted by outcome.
+ * <p>
+ * A cache is built once per number of dice and is immutable, so it is
+ * shared between threads.
+ *
+ * @author Patrik Karlström <patrik@trixon.se>
+ */
+public final class TransitionCache {
+
+    private static final ConcurrentHashMap<Integer, TransitionCache> sCache = new ConcurrentHashMap<>();
+    private final KeepGraph mGraph;
+    private final int[] mOffsets;
+    private final int[] mOutcomes;
+    private final double[] mProbabilities;
+
+    public static TransitionCache of(int numOfDice) {
+        return sCache.computeIfAbsent(numOfDice, TransitionCache::new);
+    }
+
+    private TransitionCache(int numOfDice) {
+        mGraph = KeepGraph.of(numOfDice);
+        var outcomes = DiceOutcomes.of(numOfDice);
+        int numOfKeeps = mGraph.size();
+        mOffsets = new int[numOfKeeps + 1];
+
+        for (int keep = 0; keep < numOfKeeps; keep++) {
+            int numOfRerolled = numOfDice - Hand.size(mGraph.getHand(keep));
+            mOffsets[keep + 1] = mOffsets[keep] + DiceOutcomes.of(numOfRerolled).size();
+        }
+
+        mOutcomes = new int[mOffsets[numOfKeeps]];
+        mProbabilities = new double[mOffsets[numOfKeeps]];
+        var factorials = new double[numOfDice + 1];
+        factorials[0] = 1;
+        for (int i = 1; i <= numOfDice; i++) {
+            factorials[i] = factorials[i - 1] * i;
+        }
+
+        var dense = new double[outcomes.size()];
+        for (int keep = 0; keep < numOfKeeps; keep++) {
+            long keptHand = mGraph.getHand(keep);
+            int numOfRerolled = numOfDice - Hand.size(keptHand);
+            var rolls = DiceOutcomes.of(numOfRerolled);
+            double permutations = factorials[numOfRerolled] / Math.pow(Hand.FACES, numOfRerolled);
+
+            for (int i = 0; i < rolls.size(); i++) {
+                long roll = rolls.getHand(i);
+                long hand = keptHand;
+                double probability = permutations;
+                for (int face = 1; face <= Hand.FACES; face++) {
+                    int count = Hand.count(roll, face);
+                    probability /= factorials[count];
+                    for (int j = 0; j < count; j++) {
+                        hand = Hand.add(hand, face);
+                    }
+                }
+                dense[outcomes.indexOf(hand)] = probability;
+            }
+
+            int entry = mOffsets[keep];
+            for (int outcome = 0; outcome < dense.length; outcome++) {
+                if (dense[outcome] > 0) {
+                    mOutcomes[entry] = outcome;
+                    mProbabilities[entry] = dense[outcome];
+                    dense[outcome] = 0;
+                    entry++;
+                }
+            }
+        }
+    }
+
+    /**
+     *
+     * @param keep
+     * @return the index after the last entry of <code>keep</code>
+     */
+    public int getEnd(int keep) {
+        return mOffsets[keep + 1];
+    }
+
+    /**
+     *
+     * @param keep
+     * @param outcomeValues a value for every outcome
+     * @return the expected value after keeping <code>keep</code> and
+     * rerolling the other dice
+     */
+    public double getExpectedValue(int keep, float[] outcomeValues) {
+        double sum = 0;
+        for (int entry = mOffsets[keep]; entry < mOffsets[keep + 1]; entry++) {
+            sum += mProbabilities[entry] * outcomeValues[mOutcomes[entry]];
+        }
+
+        return sum;
+    }
+
+    public long getKeep(int keep) {
+        return mGraph.getHand(keep);
+    }
+
+    public int getNumOfDice() {
+        return mGraph.getNumOfDice();
+    }
+
+    public int getNumOfEntries() {
+        return mOutcomes.length;
+    }
+
+    /**
+     *
+     * @return the number of keeps, from all dice down to none
+     */
+    public int getNumOfKeeps() {
+        return mGraph.size();
+    }
+
+    public int getOutcome(int entry) {
+        return mOutcomes[entry];
+    }
+
+    public double getProbability(int entry) {
+        return mProbabilities[entry];
+    }
+
+    /**
+     *
+     * @param keep the dice kept
+     * @param hand all dice after the reroll
+     * @return the probability of rolling <code>hand</code> when keeping
+     * <code>keep</code>
+     */
+    public double getProbability(long keep, long hand) {
+        int index = indexOf(keep);
+        int entry = Arrays.binarySearch(mOutcomes, mOffsets[index], mOffsets[index + 1], DiceOutcomes.of(getNumOfDice()).indexOf(hand));
+
+        return entry < 0 ? 0 : mProbabilities[entry];
+    }
+
+    public int getStart(int keep) {
+        return mOffsets[keep];
+    }
+
+    public int indexOf(long keep) {
+        return mGraph.indexOf(keep);
+    }
+}
@@ -0,0 +1,259 @@
+/*
+ * Copyright 2026 Patrik Karlström <patrik@trixon.se>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package se.trixon.yaya.solver;
+
+import java.nio.FloatBuffer;
+import se.trixon.yaya.engine.PlayerState;
+import se.trixon.yaya.scoring.Hand;
+
+/**
+ * The optimal play of one turn, given the expected score of every state the
+ * turn can end in.
+ * <p>
+ * The turn is solved backwards: the value of a hand when registering, then,
+ * for every roll left, the value of keeping each part of a hand, which is
+ * the average over the next die of the kept part grown by one, and the
+ * value of a hand, which is its best part to keep. A solver is reused
+ * between turns and is not thread-safe.
+ *
+ * @author Patrik Karlström <patrik@trixon.se>
+ */
+public final class TurnSolver {
+
+    private static final float ONE_SIXTH = 1f / Hand.FACES;
+    private final int[] mBestRows;
+    private final KeepGraph mGraph;
+    private final float[][] mHandValues;
+    private final float[][] mKeepValues;
+    private final float[] mMaxValues;
+    private final StateModel mModel;
+    private final int mNumOfRolls;
+    private final int[] mOpen;
+    private final FloatBuffer mValues;
+    private int mMask;
+    private int mNumOfOpen;
+    private int mProgress;
+    private boolean mSolved;
+
+    TurnSolver(StateModel model, FloatBuffer values) {
+        mModel = model;
+        mValues = values;
+        mNumOfRolls = model.getRules().getNumOfRolls();
+        mGraph = KeepGraph.of(model.getRules().getNumOfDice());
+        mOpen = new int[model.getNumOfPlayable()];
+        mBestRows = new int[mGraph.getNumOfOutcomes()];
+        mHandValues = new float[mNumOfRolls][mGraph.getNumOfOutcomes()];
+        mKeepValues = new float[mNumOfRolls][mGraph.size()];
+        mMaxValues = new float[mGraph.size()];
+    }
+
+    /**
+     *
+     * @param hand all dice
+     * @param rollsLeft
+     * @return the part of the hand to keep for the highest expected score
+     */
+    public long getBestKeep(long hand, int rollsLeft) {
+        checkRollsLeft(rollsLeft);
+
+        return mGraph.getHand(bestKeep(mGraph.indexOf(hand), mKeepValues[rollsLeft - 1]));
+    }
+
+    /**
+     *
+     * @param hand all dice
+     * @return the row to register the hand in for the highest expected score
+     */
+    public int getBestRow(long hand) {
+        return mModel.getRow(mBestRows[mGraph.indexOf(hand)]);
+    }
+
+    /**
+     *
+     * @param keep the dice to keep
+     * @param rollsLeft
+     * @return the expected score of the rest of the game when keeping
+     * <code>keep</code> and rolling the other dice
+     */
+    public float getKeepValue(long keep, int rollsLeft) {
+        checkRollsLeft(rollsLeft);
+
+        return mKeepValues[rollsLeft - 1][mGraph.indexOf(keep)];
+    }
+
+    /**
+     *
+     * @param row
+     * @param hand all dice
+     * @return the expected score of the rest of the game when registering the
+     * hand in <code>row</code>, or negative infinity if the row is taken
+     */
+    public float getRowValue(int row, long hand) {
+        int j = mModel.indexOf(row);
+        if (j < 0 || (mMask & (1 << j)) != 0) {
+            return Float.NEGATIVE_INFINITY;
+        }
+
+        return rowValue(j, mGraph.indexOf(hand));
+    }
+
+    /**
+     *
+     * @return the expected score of the rest of the game before the first
+     * roll of the turn
+     */
+    public float getTurnValue() {
+        return mKeepValues[mNumOfRolls - 1][mGraph.size() - 1];
+    }
+
+    /**
+     *
+     * @param hand all dice
+     * @param rollsLeft
+     * @return the expected score of the rest of the game, playing the hand
+     * optimally
+     */
+    public float getValue(long hand, int rollsLeft) {
+        if (rollsLeft < 0 || rollsLeft >= mNumOfRolls) {
+            throw new IllegalArgumentException("Rolls left: " + rollsLeft);
+        }
+
+        return mHandValues[rollsLeft][mGraph.indexOf(hand)];
+    }
+
+    /**
+     * Solves the turn of a player, who must have rows left to register. Does
+     * nothing if the registered rows and the bonus progress are the same as
+     * in the last turn solved.
+     *
+     * @param playerState
+     */
+    public void solve(PlayerState playerState) {
+        int mask = mModel.getMask(playerState);
+        int progress = mModel.getProgress(playerState);
+
+        if (!mSolved || mask != mMask || progress != mProgress) {
+            solve(mask, progress);
+        }
+    }
+
+    void solve(int mask, int progress) {
+        mSolved = false;
+        mMask = mask;
+        mProgress = progress;
+        mNumOfOpen = 0;
+        for (int j = 0; j < mOpen.length; j++) {
+            if ((mask & (1 << j)) == 0) {
+                mOpen[mNumOfOpen++] = j;
+            }
+        }
+
+        if (mNumOfOpen == 0) {
+            throw new IllegalStateException("No rows left to register");
+        }
+
+        var registerValues = mHandValues[0];
+        for (int outcome = 0; outcome < registerValues.length; outcome++) {
+            float best = Float.NEGATIVE_INFINITY;
+            int bestRow = -1;
+            for (int i = 0; i < mNumOfOpen; i++) {
+                int j = mOpen[i];
+                float value = rowValue(j, outcome);
+                if (value > best) {
+                    best = value;
+                    bestRow = j;
+                }
+            }
+            registerValues[outcome] = best;
+            mBestRows[outcome] = bestRow;
+        }
+
+        int numOfOutcomes = mGraph.getNumOfOutcomes();
+        int numOfHands = mGraph.size();
+        for (int rollsLeft = 1; rollsLeft <= mNumOfRolls; rollsLeft++) {
+            var keepValues = mKeepValues[rollsLeft - 1];
+            System.arraycopy(mHandValues[rollsLeft - 1], 0, keepValues, 0, numOfOutcomes);
+            for (int index = numOfOutcomes; index < numOfHands; index++) {
+                float sum = 0;
+                for (int face = 1; face <= Hand.FACES; face++) {
+                    sum += keepValues[mGraph.add(index, face)];
+                }
+                keepValues[index] = sum * ONE_SIXTH;
+            }
+
+            if (rollsLeft == mNumOfRolls) {
+                break;
+            }
+
+            for (int index = numOfHands - 1; index >= 0; index--) {
+                float max = keepValues[index];
+                for (int face = 1; face <= Hand.FACES; face++) {
+                    int smaller = mGraph.remove(index, face);
+                    if (smaller != KeepGraph.NONE && mMaxValues[smaller] > max) {
+                        max = mMaxValues[smaller];
+                    }
+                }
+                mMaxValues[index] = max;
+            }
+            System.arraycopy(mMaxValues, 0, mHandValues[rollsLeft], 0, numOfOutcomes);
+        }
+
+        mSolved = true;
+    }
+
+    private int bestKeep(int index, float[] keepValues) {
+        int best = index;
+        for (int face = 1; face <= Hand.FACES; face++) {
+            int smaller = mGraph.remove(index, face);
+            if (smaller != KeepGraph.NONE) {
+                int candidate = bestKeep(smaller, keepValues);
+                if (keepValues[candidate] > keepValues[best]) {
+                    best = candidate;
+                }
+            }
+        }
+
+        return best;
+    }
+
+    private void checkRollsLeft(int rollsLeft) {
+        if (rollsLeft < 1 || rollsLeft >= mNumOfRolls) {
+            throw new IllegalArgumentException("Rolls left: " + rollsLeft);
+        }
+    }
+
+    private float rowValue(int j, int outcome) {
+        int score = mModel.getScore(j, outcome);
+        int reward = mModel.getWeight(j) * score;
+        int next = mProgress;
+
+        for (int b = 0; b < mModel.getNumOfBonuses(); b++) {
+            int lim = mModel.getBonusLim(b);
+            int stride = mModel.getBonusStride(b);
+            int digit = mProgress / stride % (lim + 1);
+            int gain = mModel.getBonusWeight(b, j) * score;
+            if (gain > 0 && digit < lim) {
+                int nextDigit = Math.min(lim, digit + gain);
+                next += (nextDigit - digit) * stride;
+                if (nextDigit == lim) {
+                    reward += mModel.getBonusReward(b);
+                }
+            }
+        }
+
+        return reward + mValues.get((mMask | (1 << j)) * mModel.getNumOfProgress() + next);
+    }
+}
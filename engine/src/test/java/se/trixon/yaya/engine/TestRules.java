@@ -0,0 +1,82 @@
+/*
+ * Copyright 2026 Patrik Karlström <patrik@trixon.se>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package se.trixon.yaya.engine;
+
+import java.util.ArrayList;
+import java.util.stream.IntStream;
+import se.trixon.yaya.engine.GameRules.Row;
+import se.trixon.yaya.engine.GameRules.RowType;
+import se.trixon.yaya.scoring.FormulaParser;
+
+/**
+ * The rules of the tests, built without the rule files of the application.
+ *
+ * @author Patrik Karlström <patrik@trixon.se>
+ */
+public final class TestRules {
+
+    public static final int CHANCE = 11;
+    public static final int FOUR_OF_A_KIND = 8;
+    public static final int FULL_HOUSE = 7;
+    public static final int LARGE_STRAIGHT = 10;
+    public static final int SMALL_STRAIGHT = 9;
+    public static final int YACHT = 12;
+    private static final String[][] YACHT_ROWS = {
+        {"sum 1", "3", "5"},
+        {"sum 2", "6", "10"},
+        {"sum 3", "9", "15"},
+        {"sum 4", "12", "20"},
+        {"sum 5", "15", "25"},
+        {"sum 6", "18", "30"},
+        {"house 3 2", "25", "25"},
+        {"duplicates 4", "16", "24"},
+        {"equals 1,2,3,4,5 30", "30", "30"},
+        {"equals 2,3,4,5,6 30", "30", "30"},
+        {"sum", "20", "30"},
+        {"duplicates 5", "50", "50"}
+    };
+
+    /**
+     *
+     * @return the rules of Yacht, as in yacht.json: a roll counter, the
+     * twelve playable rows and the total
+     */
+    public static GameRules yacht() {
+        return yacht(YACHT_ROWS[CHANCE - 1][0]);
+    }
+
+    /**
+     *
+     * @param chanceFormula the formula of the chance row
+     * @return the rules of Yacht, with another formula for chance
+     */
+    public static GameRules yacht(String chanceFormula) {
+        var rows = new ArrayList<Row>();
+        rows.add(new Row(RowType.ROLL_COUNTER, null, 0, 0, null));
+        for (int i = 0; i < YACHT_ROWS.length; i++) {
+            var formula = i == CHANCE - 1 ? chanceFormula : YACHT_ROWS[i][0];
+            int lim = Integer.parseInt(YACHT_ROWS[i][1]);
+            int max = Integer.parseInt(YACHT_ROWS[i][2]);
+            rows.add(new Row(RowType.PLAYABLE, FormulaParser.parse(formula, lim, max), lim, max, null));
+        }
+        rows.add(new Row(RowType.RESULT, null, 0, 294, IntStream.rangeClosed(1, YACHT_ROWS.length).toArray()));
+
+        return new GameRules(5, 3, rows);
+    }
+
+    private TestRules() {
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2026 Patrik Karlström <patrik@trixon.se>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package se.trixon.yaya.simulation;
+
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+import se.trixon.yaya.bot.BotStrength;
+import se.trixon.yaya.engine.TestRules;
+import se.trixon.yaya.solver.Solver;
+import se.trixon.yaya.solver.StrategyTable;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ *
+ * @author Patrik Karlström <patrik@trixon.se>
+ */
+public class SimulationTest {
+
+    private static final int NUM_OF_GAMES = 2 * Simulation.GAMES_PER_CHUNK + 100;
+    private static final long SEED = 42;
+
+    @Test
+    public void testGreedySameOnAnyPool() {
+        assertSameOnAnyPool(BotStrength.GREEDY, null);
+    }
+
+    @Test
+    public void testOptimalSameOnAnyPool() {
+        assertSameOnAnyPool(BotStrength.OPTIMAL, new Solver(TestRules.yacht()).solve());
+    }
+
+    private void assertSameOnAnyPool(BotStrength strength, StrategyTable table) {
+        var simulation = new Simulation(TestRules.yacht(), strength, table);
+        var pool1 = new ForkJoinPool(1);
+        var pool4 = new ForkJoinPool(4);
+        try {
+            var stats1 = simulation.run(NUM_OF_GAMES, SEED, pool1, null);
+            var stats4 = simulation.run(NUM_OF_GAMES, SEED, pool4, null);
+
+            assertEquals(NUM_OF_GAMES, stats1.getNumOfGames());
+            assertEquals(stats1.getNumOfGames(), stats4.getNumOfGames());
+            assertEquals(stats1.getMean(), stats4.getMean());
+            assertEquals(stats1.getVariance(), stats4.getVariance());
+            assertEquals(stats1.getMin(), stats4.getMin());
+            assertEquals(stats1.getMax(), stats4.getMax());
+            assertEquals(stats1.getPercentile(50), stats4.getPercentile(50));
+            for (int row = 0; row < simulation.getRules().getNumOfRows(); row++) {
+                assertEquals(stats1.getRowRate(row), stats4.getRowRate(row));
+            }
+        } finally {
+            pool1.shutdown();
+            pool4.shutdown();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2026 Patrik Karlström <patrik@trixon.se>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package se.trixon.yaya.solver;
+
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+import se.trixon.yaya.engine.TestRules;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ *
+ * @author Patrik Karlström <patrik@trixon.se>
+ */
+public class SolverTest {
+
+    @Test
+    public void testSameTableOnAnyPool() {
+        var rules = TestRules.yacht();
+        var pool1 = new ForkJoinPool(1);
+        var pool4 = new ForkJoinPool(4);
+        try {
+            var table1 = new Solver(rules).solve(pool1);
+            var table4 = new Solver(rules).solve(pool4);
+            assertEquals(table1.getValues(), table4.getValues());
+        } finally {
+            pool1.shutdown();
+            pool4.shutdown();
+        }
+    }
+
+    @Test
+    public void testYacht() {
+        var table = new Solver(TestRules.yacht()).solve();
+
+        assertEquals(1 << 12, table.getNumOfStates());
+        assertEquals(171.10, table.getExpectedScore(), 0.01);
+    }
+}
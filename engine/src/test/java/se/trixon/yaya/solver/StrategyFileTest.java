@@ -0,0 +1,84 @@
+/*
+ * Copyright 2026 Patrik Karlström <patrik@trixon.se>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package se.trixon.yaya.solver;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import se.trixon.yaya.engine.TestRules;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ *
+ * @author Patrik Karlström <patrik@trixon.se>
+ */
+public class StrategyFileTest {
+
+    private static StrategyTable sTable;
+    @TempDir
+    private Path mDir;
+
+    @BeforeAll
+    public static void setUpClass() {
+        sTable = new Solver(TestRules.yacht()).solve();
+    }
+
+    @Test
+    public void testMissing() throws IOException {
+        assertNull(StrategyFile.read(mDir.resolve("yacht.strategy"), TestRules.yacht()));
+    }
+
+    @Test
+    public void testOtherRules() throws IOException {
+        var path = mDir.resolve("yacht.strategy");
+        StrategyFile.write(sTable, path);
+
+        assertNull(StrategyFile.read(path, TestRules.yacht("sum 6")));
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        var path = mDir.resolve("yacht.strategy");
+        StrategyFile.write(sTable, path);
+        var table = StrategyFile.read(path, TestRules.yacht());
+
+        assertNotNull(table);
+        assertEquals(sTable.getExpectedScore(), table.getExpectedScore());
+        assertEquals(sTable.getValues(), table.getValues());
+    }
+
+    @Test
+    public void testStaleDigest() throws IOException {
+        var path = mDir.resolve("yacht.strategy");
+        StrategyFile.write(sTable, path);
+        try (var channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            var digest = ByteBuffer.allocate(1);
+            channel.read(digest, 16);
+            digest.put(0, (byte) ~digest.get(0));
+            digest.rewind();
+            channel.write(digest, 16);
+        }
+
+        assertNull(StrategyFile.read(path, TestRules.yacht()));
+    }
+}
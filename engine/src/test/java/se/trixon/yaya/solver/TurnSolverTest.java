@@ -0,0 +1,61 @@
+/*
+ * Copyright 2026 Patrik Karlström <patrik@trixon.se>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package se.trixon.yaya.solver;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import se.trixon.yaya.engine.GameSnapshot;
+import se.trixon.yaya.engine.TestRules;
+import se.trixon.yaya.scoring.Hand;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ *
+ * @author Patrik Karlström <patrik@trixon.se>
+ */
+public class TurnSolverTest {
+
+    private static StrategyTable sTable;
+    private static TurnSolver sTurnSolver;
+
+    @BeforeAll
+    public static void setUpClass() {
+        var rules = TestRules.yacht();
+        sTable = new Solver(rules).solve();
+        sTurnSolver = sTable.newTurnSolver();
+        sTurnSolver.solve(new GameSnapshot(rules, 1).getActivePlayerState());
+    }
+
+    @Test
+    public void testBestKeep() {
+        assertEquals(Hand.of(6, 6, 6, 6, 6), sTurnSolver.getBestKeep(Hand.of(6, 6, 6, 6, 6), 2));
+        assertEquals(Hand.of(6, 6, 6, 6), sTurnSolver.getBestKeep(Hand.of(6, 6, 6, 6, 1), 2));
+        assertEquals(Hand.of(1, 2, 3, 4, 5), sTurnSolver.getBestKeep(Hand.of(5, 4, 3, 2, 1), 1));
+    }
+
+    @Test
+    public void testBestRow() {
+        assertEquals(TestRules.YACHT, sTurnSolver.getBestRow(Hand.of(4, 4, 4, 4, 4)));
+        assertEquals(TestRules.SMALL_STRAIGHT, sTurnSolver.getBestRow(Hand.of(1, 2, 3, 4, 5)));
+        assertEquals(TestRules.LARGE_STRAIGHT, sTurnSolver.getBestRow(Hand.of(2, 3, 4, 5, 6)));
+        assertEquals(TestRules.FULL_HOUSE, sTurnSolver.getBestRow(Hand.of(3, 3, 3, 2, 2)));
+    }
+
+    @Test
+    public void testTurnValue() {
+        assertEquals(sTable.getExpectedScore(), sTurnSolver.getTurnValue(), 0.001);
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2026 Patrik Karlström <patrik@trixon.se>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package se.trixon.yaya;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import javax.swing.SwingUtilities;
+import org.openide.util.Exceptions;
+import org.openide.util.RequestProcessor;
+import se.trixon.yaya.bot.Bot;
+import se.trixon.yaya.bot.BotStrength;
+import se.trixon.yaya.dice.DiceBoard;
+import se.trixon.yaya.engine.GameSession;
+import se.trixon.yaya.scorecard.ScoreCard;
+import se.trixon.yaya.scoring.Hand;
+import se.trixon.yaya.solver.StrategyTable;
+
+/**
+ * Plays the turns of the computer players of a game.
+ * <p>
+ * The moves are decided on a background thread from an immutable snapshot
+ * of the game, and then made on the EDT through the dice board and the score
+ * card, like a human would make them. A move is dropped if the game has
+ * moved on in the meantime, e.g. by an undo or a new game.
+ *
+ * @author Patrik Karlström <patrik@trixon.se>
+ */
+class BotController {
+
+    private static final RequestProcessor sRequestProcessor = new RequestProcessor(BotController.class.getSimpleName(), 1);
+    private final Bot[] mBots;
+    private volatile boolean mCancelled;
+    private final DiceBoard mDiceBoard;
+    private final GameSession mGameSession;
+    private final Options mOptions = Options.getInstance();
+    private final Player[] mPlayers;
+    private final SplittableRandom mRandom = new SplittableRandom();
+    private final ScoreCard mScoreCard;
+    private final CompletableFuture<StrategyTable> mTable;
+
+    /**
+     *
+     * @param gameSession
+     * @param players
+     * @param diceBoard
+     * @param scoreCard
+     * @param table the solved strategy, <code>null</code> if the rule can not
+     * be solved, in which case optimal players play greedy
+     */
+    BotController(GameSession gameSession, Player[] players, DiceBoard diceBoard, ScoreCard scoreCard, CompletableFuture<StrategyTable> table) {
+        mGameSession = gameSession;
+        mPlayers = players;
+        mDiceBoard = diceBoard;
+        mScoreCard = scoreCard;
+        mTable = table;
+        mBots = new Bot[players.length];
+    }
+
+    /**
+     * Stops making moves, for a game that is replaced.
+     */
+    void cancel() {
+        mCancelled = true;
+    }
+
+    /**
+     * Hands the dice to the active player and, if it is a computer player,
+     * decides its next move.
+     */
+    void play() {
+        var snapshot = mGameSession.getSnapshot();
+        if (mCancelled || snapshot.isGameOver()) {
+            return;
+        }
+
+        int player = snapshot.getActivePlayer();
+        boolean botTurn = mPlayers[player].isBot();
+        mDiceBoard.setInputEnabled(!botTurn);
+        mDiceBoard.setSpeed(botTurn && mOptions.isFastBots() ? DiceBoard.FAST_SPEED : 1);
+
+        if (!botTurn) {
+            return;
+        }
+
+        sRequestProcessor.post(() -> {
+            if (mCancelled || mGameSession.getSnapshot() != snapshot) {
+                return;
+            }
+
+            Runnable move;
+            try {
+                var playerState = snapshot.getActivePlayerState();
+                var turnState = snapshot.getTurnState();
+
+                if (!turnState.isRolled()) {
+                    move = () -> mDiceBoard.roll(Hand.EMPTY);
+                } else {
+                    var bot = getBot(player);
+                    long keep = snapshot.canRoll() ? bot.getKeep(playerState, turnState) : turnState.getHand();
+                    if (keep != turnState.getHand()) {
+                        move = () -> mDiceBoard.roll(keep);
+                    } else {
+                        int row = bot.getRow(playerState, turnState);
+                        move = () -> mScoreCard.register(row);
+                    }
+                }
+            } catch (RuntimeException ex) {
+                Exceptions.printStackTrace(ex);
+                return;
+            }
+
+            SwingUtilities.invokeLater(() -> {
+                if (!mCancelled && mGameSession.getSnapshot() == snapshot) {
+                    move.run();
+                }
+            });
+        });
+    }
+
+    private Bot getBot(int player) {
+        if (mBots[player] == null) {
+            var strength = mPlayers[player].getBotStrength();
+            var rules = mGameSession.getRules();
+            StrategyTable table = null;
+
+            if (strength == BotStrength.OPTIMAL) {
+                try {
+                    table = mTable == null ? null : mTable.join();
+                } catch (CompletionException ex) {
+                    Exceptions.printStackTrace(ex);
+                }
+
+                if (table == null) {
+                    strength = BotStrength.GREEDY;
+                }
+            }
+
+            mBots[player] = strength.newBot(rules, table, mRandom.split());
+        }
+
+        return mBots[player];
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2026 Patrik Karlström <patrik@trixon.se>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package se.trixon.yaya;
+
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsEnvironment;
+import java.awt.Image;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.openide.util.ImageUtilities;
+
+/**
+ * Provides images in the format of the screen, which is the fastest to
+ * draw.
+ * <p>
+ * Every image is converted once and cached by the resource it was loaded
+ * from, so that all of them can be converted again from their sources when
+ * the board is moved to a screen with another configuration.
+ *
+ * @author Patrik Karlström <patrik@trixon.se>
+ */
+public class ImageManager {
+
+    private volatile GraphicsConfiguration mGraphicsConfiguration;
+    private final ConcurrentHashMap<String, BufferedImage> mPathToImage = new ConcurrentHashMap<>();
+    private final CopyOnWriteArrayList<Runnable> mRestoreListeners = new CopyOnWriteArrayList<>();
+
+    public static ImageManager getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    private ImageManager() {
+        if (!GraphicsEnvironment.isHeadless()) {
+            mGraphicsConfiguration = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDefaultConfiguration();
+        }
+    }
+
+    /**
+     *
+     * @param listener called after the images were converted for another
+     * configuration, to drop images made from them
+     */
+    public void addRestoreListener(Runnable listener) {
+        mRestoreListeners.add(listener);
+    }
+
+    /**
+     *
+     * @param width
+     * @param height
+     * @param transparency one of the {@link Transparency} constants
+     * @return an empty image in the format of the screen
+     */
+    public BufferedImage createImage(int width, int height, int transparency) {
+        var graphicsConfiguration = mGraphicsConfiguration;
+        if (graphicsConfiguration == null) {
+            return new BufferedImage(width, height, transparency == Transparency.OPAQUE ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB_PRE);
+        }
+
+        return graphicsConfiguration.createCompatibleImage(width, height, transparency);
+    }
+
+    public GraphicsConfiguration getGraphicsConfiguration() {
+        return mGraphicsConfiguration;
+    }
+
+    /**
+     *
+     * @param resourcePath
+     * @return the image, converted to the format of the screen, or null if
+     * there is no such resource
+     */
+    public BufferedImage getImage(String resourcePath) {
+        var image = mPathToImage.get(resourcePath);
+        if (image == null) {
+            image = load(resourcePath);
+            if (image != null) {
+                mPathToImage.put(resourcePath, image);
+            }
+        }
+
+        return image;
+    }
+
+    /**
+     * Converts the images again from their sources if the configuration has
+     * changed.
+     *
+     * @param graphicsConfiguration the configuration of the component the
+     * images are drawn on, ignored if null
+     */
+    public void setGraphicsConfiguration(GraphicsConfiguration graphicsConfiguration) {
+        if (graphicsConfiguration == null || graphicsConfiguration == mGraphicsConfiguration) {
+            return;
+        }
+
+        synchronized (this) {
+            if (graphicsConfiguration == mGraphicsConfiguration) {
+                return;
+            }
+
+            mGraphicsConfiguration = graphicsConfiguration;
+            mPathToImage.replaceAll((path, image) -> {
+                var restoredImage = load(path);
+                return restoredImage != null ? restoredImage : image;
+            });
+        }
+
+        mRestoreListeners.forEach(listener -> listener.run());
+    }
+
+    /**
+     *
+     * @param image
+     * @return the image in the format of the screen, the same image if it
+     * already is
+     */
+    public BufferedImage toCompatibleImage(Image image) {
+        var graphicsConfiguration = mGraphicsConfiguration;
+        if (image instanceof BufferedImage bufferedImage
+                && (graphicsConfiguration == null || bufferedImage.getColorModel().equals(graphicsConfiguration.getColorModel(bufferedImage.getTransparency())))) {
+            return bufferedImage;
+        }
+
+        int transparency = image instanceof BufferedImage bufferedImage ? bufferedImage.getTransparency() : Transparency.TRANSLUCENT;
+        var compatibleImage = createImage(image.getWidth(null), image.getHeight(null), transparency);
+        var g2 = compatibleImage.createGraphics();
+        g2.drawImage(image, 0, 0, null);
+        g2.dispose();
+
+        return compatibleImage;
+    }
+
+    private BufferedImage load(String resourcePath) {
+        var image = ImageUtilities.loadImage(resourcePath);
+
+        return image == null ? null : toCompatibleImage(image);
+    }
+
+    private static class Holder {
+
+        private static final ImageManager INSTANCE = new ImageManager();
+    }
+}
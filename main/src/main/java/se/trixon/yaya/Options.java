@@ -20,6 +20,7 @@ import org.openide.util.NbPreferences;
 import se.trixon.almond.util.OptionsBase;
 import static se.trixon.almond.util.OptionsBase.KEY_FULL_SCREEN;
 import se.trixon.almond.util.swing.SwingHelper;
+import se.trixon.yaya.bot.BotStrength;
 import se.trixon.yaya.scorecard.rules.GameVariant;
 
 /**
@@ -28,25 +29,36 @@ import se.trixon.yaya.scorecard.rules.GameVariant;
  */
 public class Options extends OptionsBase {
 
+    public static final boolean DEFAULT_FAST_BOTS = true;
+    public static final boolean DEFAULT_PAINTED_SCORECARD = false;
     public static final String DEFAULT_PLAYERS = "Ask;Embla;Ask;Embla;Ask;Embla;Ask;Embla";
     public static final String DEFAULT_PLAYERS_ALL = "Ask;Embla";
+    public static final String DEFAULT_PLAYERS_BOTS = ";;;;;;;";
     public static final boolean DEFAULT_PLAY_SOUND = true;
     public static final String DEFAULT_RULE_ID = "se.trixon.yaya.rules.yaya_scandinavian";
+    public static final boolean DEFAULT_SHOW_HINTS = false;
     public static final boolean DEFAULT_SHOW_INDICATORS = true;
     public static final boolean DEFAULT_SHOW_LIM_COLUMN = false;
     public static final boolean DEFAULT_SHOW_MAX_COLUMN = false;
+    public static final boolean DEFAULT_VOLATILE_BUFFER = false;
+    public static final String KEY_FAST_BOTS = "fastBots";
     public static final String KEY_FONT_SIZE = "font.size";
     public static final String KEY_GAME_START_COUNTER = "game.start_counter";
     public static final String KEY_NUM_OF_PLAYERS = "numOfPlayers";
+    public static final String KEY_PAINTED_SCORECARD = "paintedScorecard";
     public static final String KEY_PLAYERS = "players";
     public static final String KEY_PLAYERS_ALL = "players.all";
+    public static final String KEY_PLAYERS_BOTS = "players.bots";
     public static final String KEY_PLAY_SOUND = "play_sound";
     public static final String KEY_REVERSE_DIRECTION = "reverseDirection";
     public static final String KEY_RULE_ID = "ruleId";
+    public static final String KEY_SHOW_HINTS = "showHints";
     public static final String KEY_SHOW_INDICATORS = "showIndicators";
     public static final String KEY_SHOW_LIM_COLUMN = "showLimColumn";
     public static final String KEY_SHOW_MAX_COLUMN = "showMaxColumn";
     public static final String KEY_THEME = "theme";
+    public static final String KEY_VOLATILE_BUFFER = "volatileBuffer";
+    public static final int MAX_NUM_OF_PLAYERS = 200;
     private static final int DEFAULT_FONT_SIZE = 24;
     private static final String DEFAULT_GAME_VARIANT = "standard";
     private static final int DEFAULT_NUM_OF_PLAYERS = 2;
@@ -67,6 +79,13 @@ public class Options extends OptionsBase {
         init();
     }
 
+    /**
+     * Creates the players of a game. There are more players than stored
+     * names in a large table, so the stored players are repeated, numbered
+     * by the round of the repetition.
+     *
+     * @return the players
+     */
     public Player[] createPlayers() {
         int numOfPlayers = getNumOfPlayers();
         var players = new Player[numOfPlayers];
@@ -75,7 +94,11 @@ public class Options extends OptionsBase {
         var names = StringUtils.splitPreserveAllTokens(storedNames, ";");
 
         for (int i = 0; i < numOfPlayers; i++) {
-            players[i] = new Player(-1L, names[i], Player.Handedness.RIGHT);
+            int position = i % names.length;
+            int round = i / names.length;
+            String name = round == 0 ? names[position] : "%s %d".formatted(names[position], round + 1);
+            players[i] = new Player(-1L, name, Player.Handedness.RIGHT);
+            players[i].setBotStrength(getBotStrength(position));
         }
 
         return players;
@@ -87,6 +110,22 @@ public class Options extends OptionsBase {
         return StringUtils.splitPreserveAllTokens(storedNames, ";");
     }
 
+    /**
+     *
+     * @param position
+     * @return the strength of the computer player at a position,
+     * <code>null</code> for a human player
+     */
+    public BotStrength getBotStrength(int position) {
+        var values = StringUtils.splitPreserveAllTokens(get(KEY_PLAYERS_BOTS, DEFAULT_PLAYERS_BOTS), ";");
+
+        try {
+            return position < values.length && StringUtils.isNotBlank(values[position]) ? BotStrength.valueOf(values[position]) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
     public int getFontSize() {
         return getInt(KEY_FONT_SIZE, DEFAULT_FONT_SIZE);
     }
@@ -119,6 +158,10 @@ public class Options extends OptionsBase {
         return get(KEY_THEME, DEFAULT_THEME);
     }
 
+    public boolean isFastBots() {
+        return is(KEY_FAST_BOTS, DEFAULT_FAST_BOTS);
+    }
+
     public boolean isFullScreen() {
         return is(KEY_FULL_SCREEN, DEFAULT_FULL_SCREEN);
     }
@@ -127,6 +170,14 @@ public class Options extends OptionsBase {
         return is(KEY_REVERSE_DIRECTION, DEFAULT_REVERSE_DIRECTION);
     }
 
+    public boolean isPaintedScorecard() {
+        return is(KEY_PAINTED_SCORECARD, DEFAULT_PAINTED_SCORECARD);
+    }
+
+    public boolean isShowHints() {
+        return is(KEY_SHOW_HINTS, DEFAULT_SHOW_HINTS);
+    }
+
     public boolean isShowIndicators() {
         return is(KEY_SHOW_INDICATORS, DEFAULT_SHOW_INDICATORS);
     }
@@ -139,6 +190,23 @@ public class Options extends OptionsBase {
         return is(KEY_SHOW_MAX_COLUMN, DEFAULT_SHOW_MAX_COLUMN);
     }
 
+    public boolean isVolatileBuffer() {
+        return is(KEY_VOLATILE_BUFFER, DEFAULT_VOLATILE_BUFFER);
+    }
+
+    public void setBotStrengths(BotStrength[] strengths) {
+        var values = new String[strengths.length];
+        for (int i = 0; i < strengths.length; i++) {
+            values[i] = strengths[i] == null ? "" : strengths[i].name();
+        }
+
+        put(KEY_PLAYERS_BOTS, String.join(";", values));
+    }
+
+    public void setFastBots(boolean state) {
+        put(KEY_FAST_BOTS, state);
+    }
+
     public void setFontSize(int size) {
         put(KEY_FONT_SIZE, size);
     }
@@ -155,6 +223,10 @@ public class Options extends OptionsBase {
         put(KEY_NUM_OF_PLAYERS, players);
     }
 
+    public void setPaintedScorecard(boolean state) {
+        put(KEY_PAINTED_SCORECARD, state);
+    }
+
     public void setPlayers(Player[] players) {
         mPlayers = players;
     }
@@ -167,6 +239,10 @@ public class Options extends OptionsBase {
         put(KEY_RULE_ID, typeId);
     }
 
+    public void setShowHints(boolean state) {
+        put(KEY_SHOW_HINTS, state);
+    }
+
     public void setShowIndicators(boolean state) {
         put(KEY_SHOW_INDICATORS, state);
     }
@@ -183,6 +259,10 @@ public class Options extends OptionsBase {
         put(KEY_THEME, theme);
     }
 
+    public void setVolatileBuffer(boolean state) {
+        put(KEY_VOLATILE_BUFFER, state);
+    }
+
     private void init() {
         initListeners();
     }
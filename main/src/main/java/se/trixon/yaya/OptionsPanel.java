@@ -61,7 +61,11 @@ public class OptionsPanel extends javax.swing.JPanel {
         limCheckBox.setSelected(mOptions.isShowLimColumn());
         maxCheckBox.setSelected(mOptions.isShowMaxColumn());
         indicatorCheckBox.setSelected(mOptions.isShowIndicators());
+        hintCheckBox.setSelected(mOptions.isShowHints());
         reverseScrollCheckBox.setSelected(mOptions.isReverseDirection());
+        fastBotsCheckBox.setSelected(mOptions.isFastBots());
+        volatileBufferCheckBox.setSelected(mOptions.isVolatileBuffer());
+        paintedScorecardCheckBox.setSelected(mOptions.isPaintedScorecard());
         sizeSlider.setValue(mOptions.getFontSize());
         soundCheckBox.setSelected(mOptions.is(Options.KEY_PLAY_SOUND, Options.DEFAULT_PLAY_SOUND));
     }
@@ -83,9 +87,13 @@ public class OptionsPanel extends javax.swing.JPanel {
         limCheckBox = new javax.swing.JCheckBox();
         maxCheckBox = new javax.swing.JCheckBox();
         indicatorCheckBox = new javax.swing.JCheckBox();
+        hintCheckBox = new javax.swing.JCheckBox();
         systemPanel = new javax.swing.JPanel();
         soundCheckBox = new javax.swing.JCheckBox();
         reverseScrollCheckBox = new javax.swing.JCheckBox();
+        fastBotsCheckBox = new javax.swing.JCheckBox();
+        volatileBufferCheckBox = new javax.swing.JCheckBox();
+        paintedScorecardCheckBox = new javax.swing.JCheckBox();
         removeButton = new javax.swing.JButton();
 
         scorecardPanel.setBorder(javax.swing.BorderFactory.createTitledBorder(org.openide.util.NbBundle.getMessage(OptionsPanel.class, "OptionsPanel.scorecardPanel.border.title"))); // NOI18N
@@ -133,6 +141,14 @@ public class OptionsPanel extends javax.swing.JPanel {
             }
         });
 
+        org.openide.awt.Mnemonics.setLocalizedText(hintCheckBox, org.openide.util.NbBundle.getMessage(OptionsPanel.class, "OptionsPanel.hintCheckBox.text")); // NOI18N
+        hintCheckBox.setToolTipText(org.openide.util.NbBundle.getMessage(OptionsPanel.class, "OptionsPanel.hintCheckBox.toolTipText")); // NOI18N
+        hintCheckBox.addActionListener(new java.awt.event.ActionListener() {
+            public void actionPerformed(java.awt.event.ActionEvent evt) {
+                hintCheckBoxActionPerformed(evt);
+            }
+        });
+
         javax.swing.GroupLayout scorecardPanelLayout = new javax.swing.GroupLayout(scorecardPanel);
         scorecardPanel.setLayout(scorecardPanelLayout);
         scorecardPanelLayout.setHorizontalGroup(
@@ -150,7 +166,8 @@ public class OptionsPanel extends javax.swing.JPanel {
                                     .addComponent(sizeLabel)
                                     .addComponent(limCheckBox)
                                     .addComponent(maxCheckBox)
-                                    .addComponent(indicatorCheckBox))
+                                    .addComponent(indicatorCheckBox)
+                                    .addComponent(hintCheckBox))
                                 .addGap(0, 0, Short.MAX_VALUE)))))
                 .addContainerGap())
         );
@@ -171,6 +188,8 @@ public class OptionsPanel extends javax.swing.JPanel {
                 .addComponent(maxCheckBox)
                 .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
                 .addComponent(indicatorCheckBox)
+                .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                .addComponent(hintCheckBox)
                 .addContainerGap())
         );
 
@@ -190,6 +209,27 @@ public class OptionsPanel extends javax.swing.JPanel {
             }
         });
 
+        org.openide.awt.Mnemonics.setLocalizedText(fastBotsCheckBox, org.openide.util.NbBundle.getMessage(OptionsPanel.class, "OptionsPanel.fastBotsCheckBox.text")); // NOI18N
+        fastBotsCheckBox.addActionListener(new java.awt.event.ActionListener() {
+            public void actionPerformed(java.awt.event.ActionEvent evt) {
+                fastBotsCheckBoxActionPerformed(evt);
+            }
+        });
+
+        org.openide.awt.Mnemonics.setLocalizedText(volatileBufferCheckBox, org.openide.util.NbBundle.getMessage(OptionsPanel.class, "OptionsPanel.volatileBufferCheckBox.text")); // NOI18N
+        volatileBufferCheckBox.addActionListener(new java.awt.event.ActionListener() {
+            public void actionPerformed(java.awt.event.ActionEvent evt) {
+                volatileBufferCheckBoxActionPerformed(evt);
+            }
+        });
+
+        org.openide.awt.Mnemonics.setLocalizedText(paintedScorecardCheckBox, org.openide.util.NbBundle.getMessage(OptionsPanel.class, "OptionsPanel.paintedScorecardCheckBox.text")); // NOI18N
+        paintedScorecardCheckBox.addActionListener(new java.awt.event.ActionListener() {
+            public void actionPerformed(java.awt.event.ActionEvent evt) {
+                paintedScorecardCheckBoxActionPerformed(evt);
+            }
+        });
+
         javax.swing.GroupLayout systemPanelLayout = new javax.swing.GroupLayout(systemPanel);
         systemPanel.setLayout(systemPanelLayout);
         systemPanelLayout.setHorizontalGroup(
@@ -199,6 +239,9 @@ public class OptionsPanel extends javax.swing.JPanel {
                 .addGroup(systemPanelLayout.createParallelGroup(javax.swing.GroupLayout.Alignment.LEADING, false)
                     .addComponent(soundCheckBox)
                     .addComponent(reverseScrollCheckBox, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, Short.MAX_VALUE)
+                    .addComponent(fastBotsCheckBox, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, Short.MAX_VALUE)
+                    .addComponent(volatileBufferCheckBox, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, Short.MAX_VALUE)
+                    .addComponent(paintedScorecardCheckBox, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, Short.MAX_VALUE)
                     .addComponent(removeButton, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, Short.MAX_VALUE))
                 .addContainerGap(javax.swing.GroupLayout.DEFAULT_SIZE, Short.MAX_VALUE))
         );
@@ -209,6 +252,12 @@ public class OptionsPanel extends javax.swing.JPanel {
                 .addComponent(soundCheckBox)
                 .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
                 .addComponent(reverseScrollCheckBox)
+                .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                .addComponent(fastBotsCheckBox)
+                .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                .addComponent(volatileBufferCheckBox)
+                .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                .addComponent(paintedScorecardCheckBox)
                 .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.UNRELATED)
                 .addComponent(removeButton)
                 .addContainerGap(javax.swing.GroupLayout.DEFAULT_SIZE, Short.MAX_VALUE))
@@ -248,6 +297,18 @@ public class OptionsPanel extends javax.swing.JPanel {
         mOptions.setShowIndicators(indicatorCheckBox.isSelected());
     }//GEN-LAST:event_indicatorCheckBoxActionPerformed
 
+    private void hintCheckBoxActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_hintCheckBoxActionPerformed
+        mOptions.setShowHints(hintCheckBox.isSelected());
+    }//GEN-LAST:event_hintCheckBoxActionPerformed
+
+    private void fastBotsCheckBoxActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_fastBotsCheckBoxActionPerformed
+        mOptions.setFastBots(fastBotsCheckBox.isSelected());
+    }//GEN-LAST:event_fastBotsCheckBoxActionPerformed
+
+    private void paintedScorecardCheckBoxActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_paintedScorecardCheckBoxActionPerformed
+        mOptions.setPaintedScorecard(paintedScorecardCheckBox.isSelected());
+    }//GEN-LAST:event_paintedScorecardCheckBoxActionPerformed
+
     private void reverseScrollCheckBoxActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_reverseScrollCheckBoxActionPerformed
         mOptions.setReverseDirection(reverseScrollCheckBox.isSelected());
     }//GEN-LAST:event_reverseScrollCheckBoxActionPerformed
@@ -264,10 +325,17 @@ public class OptionsPanel extends javax.swing.JPanel {
         mOptions.put(Options.KEY_PLAY_SOUND, soundCheckBox.isSelected());
     }//GEN-LAST:event_soundCheckBoxActionPerformed
 
+    private void volatileBufferCheckBoxActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_volatileBufferCheckBoxActionPerformed
+        mOptions.setVolatileBuffer(volatileBufferCheckBox.isSelected());
+    }//GEN-LAST:event_volatileBufferCheckBoxActionPerformed
+
     // Variables declaration - do not modify//GEN-BEGIN:variables
+    private javax.swing.JCheckBox fastBotsCheckBox;
+    private javax.swing.JCheckBox hintCheckBox;
     private javax.swing.JCheckBox indicatorCheckBox;
     private javax.swing.JCheckBox limCheckBox;
     private javax.swing.JCheckBox maxCheckBox;
+    private javax.swing.JCheckBox paintedScorecardCheckBox;
     private javax.swing.JButton removeButton;
     private javax.swing.JCheckBox reverseScrollCheckBox;
     private javax.swing.JPanel scorecardPanel;
@@ -277,5 +345,6 @@ public class OptionsPanel extends javax.swing.JPanel {
     private javax.swing.JPanel systemPanel;
     private javax.swing.JComboBox<Theme> themeComboBox;
     private javax.swing.JLabel themeLabel;
+    private javax.swing.JCheckBox volatileBufferCheckBox;
     // End of variables declaration//GEN-END:variables
 }
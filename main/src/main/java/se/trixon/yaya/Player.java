@@ -15,12 +15,15 @@
  */
 package se.trixon.yaya;
 
+import se.trixon.yaya.bot.BotStrength;
+
 /**
  *
  * @author Patrik Karlström
  */
 public class Player implements Comparable<Player> {
 
+    private BotStrength mBotStrength;
     private Handedness mHandedness = Handedness.RIGHT;
     private Long mId;
     private String mName = "";
@@ -39,6 +42,15 @@ public class Player implements Comparable<Player> {
         return mName.compareTo(o.getName());
     }
 
+    /**
+     *
+     * @return the strength of a computer player, <code>null</code> for a
+     * human player
+     */
+    public BotStrength getBotStrength() {
+        return mBotStrength;
+    }
+
     public Handedness getHandedness() {
         return mHandedness;
     }
@@ -51,6 +63,14 @@ public class Player implements Comparable<Player> {
         return mName;
     }
 
+    public boolean isBot() {
+        return mBotStrength != null;
+    }
+
+    public void setBotStrength(BotStrength botStrength) {
+        mBotStrength = botStrength;
+    }
+
     public void setHandedness(Handedness handedness) {
         mHandedness = handedness;
     }
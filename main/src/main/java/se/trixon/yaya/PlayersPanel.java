@@ -15,6 +15,7 @@
  */
 package se.trixon.yaya;
 
+import java.awt.BorderLayout;
 import java.util.Random;
 import java.util.TreeSet;
 import javax.swing.Box;
@@ -23,8 +24,10 @@ import javax.swing.JComboBox;
 import javax.swing.JPanel;
 import javax.swing.SpinnerNumberModel;
 import org.apache.commons.lang3.StringUtils;
+import org.openide.util.NbBundle;
 import se.trixon.almond.util.Dict;
 import se.trixon.almond.util.swing.SwingHelper;
+import se.trixon.yaya.bot.BotStrength;
 
 /**
  *
@@ -32,16 +35,17 @@ import se.trixon.almond.util.swing.SwingHelper;
  */
 public class PlayersPanel extends javax.swing.JPanel {
 
-    private int mMaxNumOfPlayers;
     private JComboBox<String>[] mNameComboBoxes;
+    private int mNumOfNamedPlayers;
     private final Options mOptions = Options.getInstance();
+    private JComboBox<String>[] mStrengthComboBoxes;
 
     /**
      * Creates new form PlayersPanel
      */
     public PlayersPanel() {
         initComponents();
-        setMaxNumOfPlayers(8);
+        setNumOfNamedPlayers(8);
     }
 
     public void load() {
@@ -56,12 +60,17 @@ public class PlayersPanel extends javax.swing.JPanel {
             }
         }
 
+        for (int i = 0; i < mStrengthComboBoxes.length; i++) {
+            var strength = mOptions.getBotStrength(i);
+            mStrengthComboBoxes[i].setSelectedIndex(strength == null ? 0 : strength.ordinal() + 1);
+        }
+
         numberSpinner.setValue(mOptions.getNumOfPlayers());
         numberSpinnerStateChanged(null);
     }
 
     public void save() {
-        var names = new String[mMaxNumOfPlayers];
+        var names = new String[mNumOfNamedPlayers];
         var allNames = new TreeSet<String>();
 
         for (int i = 0; i < mNameComboBoxes.length; i++) {
@@ -75,7 +84,14 @@ public class PlayersPanel extends javax.swing.JPanel {
             }
         }
 
+        var strengths = new BotStrength[mNumOfNamedPlayers];
+        for (int i = 0; i < mStrengthComboBoxes.length; i++) {
+            int index = mStrengthComboBoxes[i].getSelectedIndex();
+            strengths[i] = index > 0 ? BotStrength.values()[index - 1] : null;
+        }
+
         mOptions.put(Options.KEY_PLAYERS, String.join(";", names));
+        mOptions.setBotStrengths(strengths);
         mOptions.put(Options.KEY_PLAYERS_ALL, String.join(";", allNames));
         mOptions.setNumOfPlayers(getNumOfPlayers());
     }
@@ -84,19 +100,37 @@ public class PlayersPanel extends javax.swing.JPanel {
         return (int) numberSpinner.getValue();
     }
 
-    private void setMaxNumOfPlayers(int maxNumOfPlayers) {
-        mMaxNumOfPlayers = maxNumOfPlayers;
-        numberSpinner.setModel(new SpinnerNumberModel(1, 1, maxNumOfPlayers, 1));
+    /**
+     * Creates the rows of the players that are named. Larger tables repeat
+     * the named players.
+     *
+     * @param numOfNamedPlayers
+     */
+    private void setNumOfNamedPlayers(int numOfNamedPlayers) {
+        mNumOfNamedPlayers = numOfNamedPlayers;
+        numberSpinner.setModel(new SpinnerNumberModel(1, 1, Options.MAX_NUM_OF_PLAYERS, 1));
 
-        mNameComboBoxes = new JComboBox[mMaxNumOfPlayers];
+        mNameComboBoxes = new JComboBox[mNumOfNamedPlayers];
+        mStrengthComboBoxes = new JComboBox[mNumOfNamedPlayers];
         leftPanel.removeAll();
         rightPanel.removeAll();
         JPanel parent;
-
-        for (int i = 0; i < mMaxNumOfPlayers; i++) {
+        var bundle = NbBundle.getBundle(PlayersPanel.class);
+        var strengthNames = new String[]{
+            bundle.getString("playerHuman"),
+            bundle.getString("playerBotRandom"),
+            bundle.getString("playerBotGreedy"),
+            bundle.getString("playerBotOptimal")
+        };
+
+        for (int i = 0; i < mNumOfNamedPlayers; i++) {
             mNameComboBoxes[i] = new JComboBox<>();
+            mStrengthComboBoxes[i] = new JComboBox<>(strengthNames);
+            var playerPanel = new JPanel(new BorderLayout(SwingHelper.getUIScaled(4), 0));
+            playerPanel.add(mNameComboBoxes[i], BorderLayout.CENTER);
+            playerPanel.add(mStrengthComboBoxes[i], BorderLayout.EAST);
             parent = (i & 1) == 0 ? leftPanel : rightPanel;
-            parent.add(mNameComboBoxes[i]);
+            parent.add(playerPanel);
             parent.add(Box.createVerticalStrut(SwingHelper.getUIScaled(8)));
         }
 
@@ -185,13 +219,14 @@ public class PlayersPanel extends javax.swing.JPanel {
 
     private void numberSpinnerStateChanged(javax.swing.event.ChangeEvent evt) {//GEN-FIRST:event_numberSpinnerStateChanged
         int players = getNumOfPlayers();
-        for (int i = 0; i < mMaxNumOfPlayers; i++) {
+        for (int i = 0; i < mNumOfNamedPlayers; i++) {
             mNameComboBoxes[i].setEnabled(i < players);
+            mStrengthComboBoxes[i].setEnabled(i < players);
         }
     }//GEN-LAST:event_numberSpinnerStateChanged
 
     private void shuffleButtonActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_shuffleButtonActionPerformed
-        int numOfPlayers = getNumOfPlayers();
+        int numOfPlayers = Math.min(getNumOfPlayers(), mNumOfNamedPlayers);
         var r = new Random();
 
         for (int i = 0; i < numOfPlayers; i++) {
@@ -203,6 +238,10 @@ public class PlayersPanel extends javax.swing.JPanel {
             String temp = (String) editor0.getItem();
             name0.setSelectedItem(editor1.getItem());
             name1.setSelectedItem(temp);
+
+            int strength0 = mStrengthComboBoxes[i].getSelectedIndex();
+            mStrengthComboBoxes[i].setSelectedIndex(mStrengthComboBoxes[swapWith].getSelectedIndex());
+            mStrengthComboBoxes[swapWith].setSelectedIndex(strength0);
         }
     }//GEN-LAST:event_shuffleButtonActionPerformed
 
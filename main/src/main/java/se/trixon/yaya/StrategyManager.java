@@ -0,0 +1,161 @@
+/*
+ * Copyright 2026 Patrik Karlström <patrik@trixon.se>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package se.trixon.yaya;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import org.openide.modules.Places;
+import org.openide.util.Exceptions;
+import org.openide.util.RequestProcessor;
+import se.trixon.yaya.scorecard.rules.Rule;
+import se.trixon.yaya.solver.Solver;
+import se.trixon.yaya.solver.StrategyFile;
+import se.trixon.yaya.solver.StrategyTable;
+
+/**
+ * Provides the solved strategy of a rule.
+ * <p>
+ * The tables are kept in the cache directory and memory mapped when used. A
+ * table that is missing, or was solved for another version of the rule, is
+ * solved again in the background and written back.
+ *
+ * @author Patrik Karlström <patrik@trixon.se>
+ */
+public class StrategyManager {
+
+    /**
+     * Rules with more states than this take too long to solve on a desktop.
+     */
+    public static final int MAX_STATES = 1 << 22;
+    private static final String CACHE_DIRECTORY = "strategies";
+    private final RequestProcessor mRequestProcessor = new RequestProcessor(getClass().getSimpleName(), 1);
+    private final HashMap<String, CompletableFuture<StrategyTable>> mIdToTable = new HashMap<>();
+
+    public static StrategyManager getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    private StrategyManager() {
+    }
+
+    /**
+     * A table that failed to load is forgotten, so that it is loaded again
+     * the next time it is asked for.
+     *
+     * @param rule
+     * @return the table of the rule, completed when it has been read or solved
+     * @throws IllegalArgumentException if the rule is not solvable
+     */
+    public synchronized CompletableFuture<StrategyTable> getTable(Rule rule) {
+        if (!isSolvable(rule)) {
+            throw new IllegalArgumentException("Not solvable: " + rule.getId());
+        }
+
+        var id = rule.getId();
+        var table = mIdToTable.get(id);
+        if (table == null) {
+            var future = CompletableFuture.supplyAsync(() -> load(rule), mRequestProcessor);
+            mIdToTable.put(id, future);
+            future.whenComplete((result, ex) -> {
+                if (ex != null) {
+                    synchronized (this) {
+                        mIdToTable.remove(id, future);
+                    }
+                }
+            });
+            table = future;
+        }
+
+        return table;
+    }
+
+    /**
+     *
+     * @param rule
+     * @return the file of the solved strategy of the rule
+     */
+    public Path getPath(Rule rule) {
+        return Places.getCacheSubdirectory(CACHE_DIRECTORY).toPath().resolve(rule.getId() + ".strategy");
+    }
+
+    public boolean isSolvable(Rule rule) {
+        try {
+            return new Solver(rule.getGameRules()).getNumOfStates() <= MAX_STATES;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Solves a rule, even if there is a table already, and replaces its
+     * file.
+     *
+     * @param rule
+     * @param pool
+     * @return the new table, mapped from its file
+     * @throws IOException if the file could not be written
+     */
+    public StrategyTable solve(Rule rule, ForkJoinPool pool) throws IOException {
+        return write(rule, new Solver(rule.getGameRules()).solve(pool));
+    }
+
+    private StrategyTable load(Rule rule) {
+        var path = getPath(rule);
+        var gameRules = rule.getGameRules();
+
+        try {
+            var table = StrategyFile.read(path, gameRules);
+            if (table != null) {
+                return table;
+            }
+        } catch (IOException ex) {
+            Exceptions.printStackTrace(ex);
+        }
+
+        var table = new Solver(gameRules).solve(ForkJoinPool.commonPool());
+        try {
+            return write(rule, table);
+        } catch (IOException ex) {
+            Exceptions.printStackTrace(ex);
+            return table;
+        }
+    }
+
+    /**
+     * Writes a solved table to the file of its rule.
+     *
+     * @param rule
+     * @param table
+     * @return the table mapped from its file, or the table itself if it could
+     * not be mapped
+     * @throws IOException if the file could not be written
+     */
+    private StrategyTable write(Rule rule, StrategyTable table) throws IOException {
+        var path = getPath(rule);
+        StrategyFile.write(table, path);
+        var mappedTable = StrategyFile.read(path, rule.getGameRules());
+
+        return mappedTable != null ? mappedTable : table;
+    }
+
+    private static class Holder {
+
+        private static final StrategyManager INSTANCE = new StrategyManager();
+    }
+}
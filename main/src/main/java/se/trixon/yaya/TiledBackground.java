@@ -0,0 +1,84 @@
+/*
+ * Copyright 2026 Patrik Karlström <patrik@trixon.se>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package se.trixon.yaya;
+
+import java.awt.Graphics;
+import java.awt.GraphicsConfiguration;
+import java.awt.image.BufferedImage;
+
+/**
+ * A background of rows of an image, stretched to the width of the panel
+ * when the panel is wider than the image.
+ * <p>
+ * The background is rendered once per size of the panel, so painting it
+ * is a single copy.
+ *
+ * @author Patrik Karlström <patrik@trixon.se>
+ */
+public class TiledBackground {
+
+    private BufferedImage mImage;
+    private GraphicsConfiguration mGraphicsConfiguration;
+    private final ImageManager mImageManager = ImageManager.getInstance();
+    private BufferedImage mTile;
+
+    public BufferedImage getTile() {
+        return mTile;
+    }
+
+    /**
+     *
+     * @param g
+     * @param width the width of the panel
+     * @param height the height of the panel
+     */
+    public void paint(Graphics g, int width, int height) {
+        if (mTile == null || width <= 0 || height <= 0) {
+            return;
+        }
+
+        if (mImage == null
+                || mImage.getWidth() != width
+                || mImage.getHeight() != height
+                || mGraphicsConfiguration != mImageManager.getGraphicsConfiguration()) {
+            render(width, height);
+        }
+
+        g.drawImage(mImage, 0, 0, null);
+    }
+
+    public void setTile(BufferedImage tile) {
+        mTile = tile;
+        mImage = null;
+    }
+
+    private void render(int width, int height) {
+        mGraphicsConfiguration = mImageManager.getGraphicsConfiguration();
+        mImage = mImageManager.createImage(width, height, mTile.getTransparency());
+        var g2 = mImage.createGraphics();
+        int tileHeight = mTile.getHeight();
+
+        for (int i = 0; i < (height / tileHeight) + 1; i++) {
+            if (width < mTile.getWidth()) {
+                g2.drawImage(mTile, 0, i * tileHeight, null);
+            } else {
+                g2.drawImage(mTile, 0, i * tileHeight, width, tileHeight, null);
+            }
+        }
+
+        g2.dispose();
+    }
+}
@@ -23,7 +23,6 @@ import java.awt.image.BufferedImage;
 import java.util.Locale;
 import java.util.ResourceBundle;
 import org.openide.awt.Actions;
-import org.openide.util.ImageUtilities;
 import org.openide.util.NbBundle;
 import se.trixon.almond.nbp.Almond;
 import se.trixon.almond.util.GlobalState;
@@ -64,7 +63,7 @@ public class Yaya {
     }
 
     public static BufferedImage getImage(Class c, String imagePath) {
-        return (BufferedImage) ImageUtilities.loadImage(SystemHelper.getPackageAsPath(c) + imagePath);
+        return ImageManager.getInstance().getImage(SystemHelper.getPackageAsPath(c) + imagePath);
     }
 
     public static BufferedImage getImage(String imagePath) {
@@ -17,32 +17,51 @@ package se.trixon.yaya;
 
 import java.awt.BorderLayout;
 import java.awt.Graphics;
-import java.awt.Graphics2D;
 import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
 import javax.swing.JPanel;
+import javax.swing.SwingUtilities;
 import se.trixon.almond.util.GlobalState;
 import se.trixon.almond.util.PrefsHelper;
+import se.trixon.yaya.bot.BotStrength;
 import se.trixon.yaya.dice.DiceBoard;
 import se.trixon.yaya.dice.RollEvent;
+import se.trixon.yaya.engine.GameSession;
 import se.trixon.yaya.scorecard.ScoreCard;
 import se.trixon.yaya.scorecard.ScoreCardEvent;
 import se.trixon.yaya.scorecard.rules.GameState;
 import se.trixon.yaya.scorecard.rules.Rule;
 import se.trixon.yaya.scorecard.rules.RuleManager;
+import se.trixon.yaya.scoring.Hand;
+import se.trixon.yaya.solver.Hint;
+import se.trixon.yaya.solver.HintEngine;
+import se.trixon.yaya.solver.StrategyTable;
 
 /**
+ * The game, with the score card above the dice board.
+ * <p>
+ * The game is played on the EDT: the dice board animates on it, and the
+ * score card, the hints and the computer players react to its events on it,
+ * so the game session is only changed from there. Changes of the options,
+ * which are reported on other threads, are handed over to it.
  *
  * @author Patrik Karlström
  */
 public class YayaPanel extends JPanel {
 
-    private BufferedImage mBackgroundImage;
+    private final TiledBackground mBackground = new TiledBackground();
+    private BotController mBotController;
     private DiceBoard mDiceBoard;
+    private GameSession mGameSession;
     private final GlobalState mGlobalState;
+    private HintEngine mHintEngine;
     private final Options mOptions = Options.getInstance();
     private boolean mRollable = true;
     private Rule mRule;
     private ScoreCard mScoreCard;
+    private final StrategyManager mStrategyManager = StrategyManager.getInstance();
+    private CompletableFuture<StrategyTable> mTable;
 
     /**
      * Creates new form YayaPanel
@@ -57,7 +76,7 @@ public class YayaPanel extends JPanel {
     }
 
     public BufferedImage getBackgroundImage() {
-        return mBackgroundImage;
+        return mBackground.getTile();
     }
 
     public String getGameTitle() {
@@ -70,27 +89,21 @@ public class YayaPanel extends JPanel {
         initGame();
         mScoreCard.newGame();
         mDiceBoard.newTurn();
+        mBotController.play();
     }
 
     @Override
     public void paint(Graphics g) {
-        var g2 = (Graphics2D) g;
-        if (mBackgroundImage != null) {
-            for (int i = 0; i < (getHeight() / mBackgroundImage.getHeight()) + 1; i++) {
-                if (getWidth() < mBackgroundImage.getWidth()) {
-                    g2.drawImage(mBackgroundImage, 0, i * mBackgroundImage.getHeight(), null);
-                } else {
-                    g2.drawImage(mBackgroundImage, 0, i * mBackgroundImage.getHeight(), getWidth(), mBackgroundImage.getHeight(), null);
-                }
-            }
-        }
-
+        mBackground.paint(g, getWidth(), getHeight());
         super.paint(g);
-        g2.dispose();
+    }
+
+    public void redo() {
+        mScoreCard.redo();
     }
 
     public void setBackgroundImage(BufferedImage backgroundImage) {
-        mBackgroundImage = backgroundImage;
+        mBackground.setTile(backgroundImage);
     }
 
     public void undo() {
@@ -113,8 +126,8 @@ public class YayaPanel extends JPanel {
 
     private void initDiceBoard() {
         mDiceBoard.setPlaySound(mOptions.is(Options.KEY_PLAY_SOUND, Options.DEFAULT_PLAY_SOUND));
+        mDiceBoard.setVolatileBuffer(mOptions.isVolatileBuffer());
         mDiceBoard.setDiceTofloor(75);
-        mDiceBoard.setMaxRollCount(mRule.getNumOfRolls());
         add(mDiceBoard.getPanel(), BorderLayout.SOUTH);
     }
 
@@ -122,8 +135,24 @@ public class YayaPanel extends JPanel {
         Yaya.getGlobalState().put(Yaya.KEY_GAME_STATE, GameState.JUST_STARTED);
         removeAll();
         mRule = RuleManager.getInstance().getRule(mOptions.getRuleId());
+        mGameSession = new GameSession(mRule.getGameRules(), mOptions.getNumOfPlayers());
+        if (mDiceBoard != null) {
+            mDiceBoard.dispose();
+        }
+        mHintEngine = null;
+        mTable = null;
+        boolean optimalBots = Arrays.stream(mOptions.getPlayers()).anyMatch(player -> player.getBotStrength() == BotStrength.OPTIMAL);
+        if (optimalBots || mOptions.isShowHints()) {
+            requestTable();
+        }
+        var tableFuture = optimalBots ? mTable : null;
         mDiceBoard = new DiceBoard(mGlobalState, mRule.getNumOfDice());
-        mScoreCard = new ScoreCard(mGlobalState);
+        mDiceBoard.setGameSession(mGameSession);
+        mScoreCard = new ScoreCard(mGlobalState, mGameSession);
+        if (mBotController != null) {
+            mBotController.cancel();
+        }
+        mBotController = new BotController(mGameSession, mOptions.getPlayers(), mDiceBoard, mScoreCard, tableFuture);
         initScoreCard();
         initDiceBoard();
     }
@@ -136,7 +165,20 @@ public class YayaPanel extends JPanel {
         mOptions.getPreferences().addPreferenceChangeListener(pce -> {
             switch (pce.getKey()) {
                 case Options.KEY_PLAY_SOUND:
-                    mDiceBoard.setPlaySound(Boolean.parseBoolean(pce.getNewValue()));
+                    SwingUtilities.invokeLater(() -> mDiceBoard.setPlaySound(Boolean.parseBoolean(pce.getNewValue())));
+                    break;
+
+                case Options.KEY_SHOW_HINTS:
+                    SwingUtilities.invokeLater(() -> {
+                        if (mOptions.isShowHints()) {
+                            requestTable();
+                        }
+                        updateHint();
+                    });
+                    break;
+
+                case Options.KEY_VOLATILE_BUFFER:
+                    SwingUtilities.invokeLater(() -> mDiceBoard.setVolatileBuffer(Boolean.parseBoolean(pce.getNewValue())));
                     break;
             }
         });
@@ -154,8 +196,10 @@ public class YayaPanel extends JPanel {
                 }
 
                 case POST_ROLL -> {
-                    mScoreCard.parseDice(mDiceBoard.getValues());
+                    mScoreCard.parseDice(mDiceBoard.getHand());
                     Yaya.getGlobalState().put(Yaya.KEY_GAME_STATE, GameState.RUNNING);
+                    updateHint();
+                    mBotController.play();
                 }
             }
         }, RollEvent.class.getName());
@@ -168,11 +212,17 @@ public class YayaPanel extends JPanel {
                     mDiceBoard.gameOver();
                 }
 
-                case REGISTER ->
+                case REGISTER -> {
                     mDiceBoard.newTurn();
+                    updateHint();
+                    mBotController.play();
+                }
 
-                case UNDO ->
+                case UNDO -> {
                     mDiceBoard.undo();
+                    updateHint();
+                    mBotController.play();
+                }
             }
         }, ScoreCardEvent.class.getName());
     }
@@ -181,4 +231,39 @@ public class YayaPanel extends JPanel {
         add(mScoreCard.getPanel(), BorderLayout.CENTER);
     }
 
+    /**
+     * Reads or solves the strategy of the rule, unless that is already
+     * done, and creates the hint engine when it is ready. Solving is only
+     * asked for when hints or optimal bots need it.
+     */
+    private void requestTable() {
+        if (mTable != null || mRule == null || !mStrategyManager.isSolvable(mRule)) {
+            return;
+        }
+
+        var rule = mRule;
+        mTable = mStrategyManager.getTable(rule);
+        mTable.thenAccept(table -> SwingUtilities.invokeLater(() -> {
+            if (mRule == rule) {
+                mHintEngine = new HintEngine(table);
+                updateHint();
+            }
+        }));
+    }
+
+    /**
+     * Shows the best move of the active player: the dice to keep if rolling
+     * again is better, otherwise the row to register the dice in.
+     */
+    private void updateHint() {
+        Hint hint = null;
+        if (mOptions.isShowHints() && mHintEngine != null && !mGameSession.isGameOver()
+                && !mOptions.getPlayers()[mGameSession.getActivePlayer()].isBot()) {
+            hint = mHintEngine.getHint(mGameSession.getActivePlayerState(), mGameSession.getTurnState());
+        }
+
+        mDiceBoard.setHint(hint != null && hint.reroll() ? hint.keep() : Hand.EMPTY);
+        mScoreCard.setHint(hint != null && !hint.reroll() ? hint.row() : -1);
+    }
+
 }
@@ -0,0 +1,288 @@
+/*
+ * Copyright 2026 Patrik Karlström <patrik@trixon.se>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package se.trixon.yaya.boot;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.netbeans.api.sendopts.CommandException;
+import org.netbeans.spi.sendopts.Env;
+import org.netbeans.spi.sendopts.Option;
+import org.netbeans.spi.sendopts.OptionProcessor;
+import org.openide.LifecycleManager;
+import org.openide.util.NbBundle;
+import org.openide.util.lookup.ServiceProvider;
+import se.trixon.yaya.Options;
+import se.trixon.yaya.StrategyManager;
+import se.trixon.yaya.bot.BotStrength;
+import se.trixon.yaya.engine.GameRules.RowType;
+import se.trixon.yaya.scorecard.rules.Rule;
+import se.trixon.yaya.scorecard.rules.RuleManager;
+import se.trixon.yaya.simulation.Simulation;
+import se.trixon.yaya.simulation.SimulationStats;
+import se.trixon.yaya.solver.StrategyFile;
+import se.trixon.yaya.solver.StrategyTable;
+
+/**
+ * Runs simulations and solves strategies from the command line, without the
+ * window system.
+ * <p>
+ * <code>yaya --simulate --rule yacht --games 1000000 --strategy optimal
+ * --threads 16</code> plays the games with computer players and prints the
+ * statistics, <code>yaya --solve yacht</code> solves the strategy of a rule
+ * and writes it to the cache. Yaya exits when done, also when it fails.
+ * <p>
+ * The options are handed to a Yaya that is already running with the same
+ * user directory, which would then exit and end its game. Run batch jobs
+ * with a user directory of their own, <code>--userdir /tmp/yaya-batch</code>,
+ * and with <code>-J-Djava.awt.headless=true</code>, so that the look and feel
+ * is not set up either.
+ *
+ * @author Patrik Karlström <patrik@trixon.se>
+ */
+@NbBundle.Messages({
+    "CommandLineProcessor.games=the number of games to simulate",
+    "CommandLineProcessor.rule=the rule to simulate, by id",
+    "CommandLineProcessor.seed=the seed of the random numbers",
+    "CommandLineProcessor.simulate=simulate games and print the statistics, with a --userdir of its own",
+    "CommandLineProcessor.solve=solve the strategy of a rule, with a --userdir of its own",
+    "CommandLineProcessor.strategy=random, greedy or optimal",
+    "CommandLineProcessor.threads=the number of threads to use"
+})
+@ServiceProvider(service = OptionProcessor.class)
+public class CommandLineProcessor extends OptionProcessor {
+
+    private static final String BUNDLE = "se.trixon.yaya.boot.Bundle";
+    private static final int DEFAULT_GAMES = 100_000;
+    private static final long PROGRESS_INTERVAL = TimeUnit.SECONDS.toNanos(1);
+    private static final String RULE_PREFIX = "se.trixon.yaya.rules.";
+    private static volatile boolean sBatch;
+
+    private final Option mGamesOption = Option.requiredArgument(Option.NO_SHORT_NAME, "games");
+    private final Option mRuleOption = Option.requiredArgument(Option.NO_SHORT_NAME, "rule");
+    private final Option mSeedOption = Option.requiredArgument(Option.NO_SHORT_NAME, "seed");
+    private final Option mSimulateOption = Option.withoutArgument(Option.NO_SHORT_NAME, "simulate");
+    private final Option mSolveOption = Option.requiredArgument(Option.NO_SHORT_NAME, "solve");
+    private final Option mStrategyOption = Option.requiredArgument(Option.NO_SHORT_NAME, "strategy");
+    private final Option mThreadsOption = Option.requiredArgument(Option.NO_SHORT_NAME, "threads");
+
+    /**
+     *
+     * @return true if Yaya was started to simulate or solve, and will exit
+     * without showing a window
+     */
+    public static boolean isBatch() {
+        return sBatch;
+    }
+
+    public CommandLineProcessor() {
+    }
+
+    @Override
+    protected Set<Option> getOptions() {
+        return Set.of(
+                Option.shortDescription(mGamesOption, BUNDLE, "CommandLineProcessor.games"),
+                Option.shortDescription(mRuleOption, BUNDLE, "CommandLineProcessor.rule"),
+                Option.shortDescription(mSeedOption, BUNDLE, "CommandLineProcessor.seed"),
+                Option.shortDescription(mSimulateOption, BUNDLE, "CommandLineProcessor.simulate"),
+                Option.shortDescription(mSolveOption, BUNDLE, "CommandLineProcessor.solve"),
+                Option.shortDescription(mStrategyOption, BUNDLE, "CommandLineProcessor.strategy"),
+                Option.shortDescription(mThreadsOption, BUNDLE, "CommandLineProcessor.threads")
+        );
+    }
+
+    @Override
+    protected void process(Env env, Map<Option, String[]> optionValues) throws CommandException {
+        boolean simulate = optionValues.containsKey(mSimulateOption);
+        boolean solve = optionValues.containsKey(mSolveOption);
+        if (!simulate && !solve) {
+            return;
+        }
+
+        sBatch = true;
+        var out = new PrintStream(env.getOutputStream(), true);
+        var err = new PrintStream(env.getErrorStream(), true);
+
+        int exitCode = 1;
+        try {
+            run(out, err, optionValues, simulate, solve);
+            exitCode = 0;
+        } catch (CommandException ex) {
+            exitCode = ex.getExitCode();
+            err.println(ex.getLocalizedMessage());
+            throw ex;
+        } catch (RuntimeException ex) {
+            ex.printStackTrace(err);
+            throw (CommandException) new CommandException(1, ex.toString()).initCause(ex);
+        } finally {
+            LifecycleManager.getDefault().exit(exitCode);
+        }
+    }
+
+    private int getInt(Map<Option, String[]> optionValues, Option option, int defaultValue) throws CommandException {
+        var values = optionValues.get(option);
+        if (values == null) {
+            return defaultValue;
+        }
+
+        try {
+            return Integer.parseInt(values[0]);
+        } catch (NumberFormatException e) {
+            throw new CommandException(2, "Not a number: " + values[0]);
+        }
+    }
+
+    private Rule getRule(String id) throws CommandException {
+        var ruleManager = RuleManager.getInstance();
+        var rule = ruleManager.getRule(id);
+        if (rule == null) {
+            rule = ruleManager.getRule(RULE_PREFIX + id);
+        }
+
+        if (rule == null) {
+            throw new CommandException(2, "Unknown rule: " + id + ", available: " + String.join(", ", ruleManager.getIdArray()));
+        }
+
+        return rule;
+    }
+
+    private BotStrength getStrength(String name) throws CommandException {
+        try {
+            return BotStrength.valueOf(name.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new CommandException(2, "Unknown strategy: " + name);
+        }
+    }
+
+    private void printStats(PrintStream out, Rule rule, SimulationStats stats, int threads) {
+        out.printf(Locale.ROOT, "%-10s %s (%s)%n", "Rule", rule.getTitle(), rule.getId());
+        out.printf(Locale.ROOT, "%-10s %,d%n", "Games", stats.getNumOfGames());
+        out.printf(Locale.ROOT, "%-10s %d%n", "Threads", threads);
+        out.printf(Locale.ROOT, "%-10s %.2f%n", "Mean", stats.getMean());
+        out.printf(Locale.ROOT, "%-10s %.2f%n", "Std dev", stats.getStandardDeviation());
+        out.printf(Locale.ROOT, "%-10s %d%n", "Min", stats.getMin());
+        for (int percent : new int[]{5, 25, 50, 75, 95}) {
+            out.printf(Locale.ROOT, "%-10s %d%n", "P" + percent, stats.getPercentile(percent));
+        }
+        out.printf(Locale.ROOT, "%-10s %d%n", "Max", stats.getMax());
+        out.printf(Locale.ROOT, "%-10s %.2f s%n", "Time", stats.getElapsedNanos() / 1e9);
+        out.printf(Locale.ROOT, "%-10s %,.0f%n", "Games/s", stats.getGamesPerSecond());
+        out.println();
+
+        var gameRules = rule.getGameRules();
+        for (int row = 0; row < gameRules.getNumOfRows(); row++) {
+            var type = gameRules.getRow(row).type();
+            if (type == RowType.PLAYABLE || type == RowType.BONUS) {
+                out.printf(Locale.ROOT, "%-20s %6.2f %%%n", rule.getGameColumn().get(row).getTitle(), 100 * stats.getRowRate(row));
+            }
+        }
+    }
+
+    private void run(PrintStream out, PrintStream err, Map<Option, String[]> optionValues, boolean simulate, boolean solve) throws CommandException {
+        RuleManager.getInstance().init();
+        int threads = getInt(optionValues, mThreadsOption, Runtime.getRuntime().availableProcessors());
+        if (threads < 1) {
+            throw new CommandException(2, "Threads must be positive: " + threads);
+        }
+
+        var pool = new ForkJoinPool(threads);
+        try {
+            if (solve) {
+                solve(out, getRule(optionValues.get(mSolveOption)[0]), pool);
+            }
+
+            if (simulate) {
+                simulate(out, err, optionValues, pool);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private void simulate(PrintStream out, PrintStream err, Map<Option, String[]> optionValues, ForkJoinPool pool) throws CommandException {
+        var values = optionValues.get(mRuleOption);
+        var rule = getRule(values != null ? values[0] : Options.getInstance().getRuleId());
+        values = optionValues.get(mStrategyOption);
+        var strength = getStrength(values != null ? values[0] : BotStrength.OPTIMAL.name());
+        int games = getInt(optionValues, mGamesOption, DEFAULT_GAMES);
+        if (games < 1) {
+            throw new CommandException(2, "Games must be positive: " + games);
+        }
+
+        values = optionValues.get(mSeedOption);
+        long seed;
+        try {
+            seed = values != null ? Long.parseLong(values[0]) : System.nanoTime();
+        } catch (NumberFormatException e) {
+            throw new CommandException(2, "Not a number: " + values[0]);
+        }
+
+        var strategyManager = StrategyManager.getInstance();
+        StrategyTable table = null;
+        if (strength == BotStrength.OPTIMAL) {
+            if (!strategyManager.isSolvable(rule)) {
+                throw new CommandException(1, "Not solvable: " + rule.getId());
+            }
+
+            try {
+                table = StrategyFile.read(strategyManager.getPath(rule), rule.getGameRules());
+                if (table == null) {
+                    table = strategyManager.solve(rule, pool);
+                }
+            } catch (IOException ex) {
+                throw new CommandException(1, "Could not load the strategy: " + ex.getMessage());
+            }
+        }
+
+        var lastProgress = new AtomicLong(System.nanoTime());
+        var simulation = new Simulation(rule.getGameRules(), strength, table);
+        var stats = simulation.run(games, seed, pool, progress -> {
+            long now = System.nanoTime();
+            long last = lastProgress.get();
+            if (now - last >= PROGRESS_INTERVAL && lastProgress.compareAndSet(last, now)) {
+                err.printf(Locale.ROOT, "%,d / %,d games, mean %.2f%n", progress.getNumOfGames(), games, progress.getMean());
+            }
+        });
+
+        out.printf(Locale.ROOT, "%-10s %s%n", "Strategy", strength.name().toLowerCase(Locale.ROOT));
+        printStats(out, rule, stats, pool.getParallelism());
+    }
+
+    private void solve(PrintStream out, Rule rule, ForkJoinPool pool) throws CommandException {
+        var strategyManager = StrategyManager.getInstance();
+        if (!strategyManager.isSolvable(rule)) {
+            throw new CommandException(1, "Not solvable: " + rule.getId());
+        }
+
+        long start = System.nanoTime();
+        try {
+            var table = strategyManager.solve(rule, pool);
+            out.printf(Locale.ROOT, "%-10s %s (%s)%n", "Rule", rule.getTitle(), rule.getId());
+            out.printf(Locale.ROOT, "%-10s %,d%n", "States", table.getNumOfStates());
+            out.printf(Locale.ROOT, "%-10s %.2f%n", "Expected", table.getExpectedScore());
+            out.printf(Locale.ROOT, "%-10s %.2f s%n", "Time", (System.nanoTime() - start) / 1e9);
+            out.printf(Locale.ROOT, "%-10s %s%n", "File", strategyManager.getPath(rule));
+            out.println();
+        } catch (IOException ex) {
+            throw new CommandException(1, "Could not write the strategy: " + ex.getMessage());
+        }
+    }
+}
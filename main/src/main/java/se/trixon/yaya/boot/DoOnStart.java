@@ -17,6 +17,7 @@ package se.trixon.yaya.boot;
 
 import com.formdev.flatlaf.FlatLightLaf;
 import java.awt.Color;
+import java.awt.GraphicsEnvironment;
 import javax.swing.JFrame;
 import javax.swing.UIManager;
 import org.openide.modules.OnStart;
@@ -26,6 +27,8 @@ import se.trixon.almond.nbp.NbHelper;
 import se.trixon.almond.util.GraphicsHelper;
 import se.trixon.yaya.Options;
 import se.trixon.yaya.Yaya;
+import se.trixon.yaya.dice.data.image.DiceSprites;
+import se.trixon.yaya.dice.data.sound.SoundMixer;
 
 /**
  *
@@ -39,6 +42,35 @@ public class DoOnStart implements Runnable {
     private final Options mOptions = Options.getInstance();
 
     static {
+        // Set before the main window is created, which may be before the
+        // command line is processed, so batch runs skip it only when headless.
+        if (!GraphicsEnvironment.isHeadless()) {
+            initLookAndFeel();
+        }
+    }
+
+    @Override
+    public void run() {
+        var windowManager = WindowManager.getDefault();
+        windowManager.invokeWhenUIReady(() -> {
+            if (CommandLineProcessor.isBatch()) {
+                return;
+            }
+
+            DiceSprites.getInstance().prerender();
+            SoundMixer.getInstance().preload();
+            Almond.setFrame((JFrame) windowManager.getMainWindow());
+
+            var frame = (JFrame) windowManager.getMainWindow();
+            var contentPane = frame.getRootPane().getContentPane();
+            contentPane.removeAll();
+            contentPane.setBackground(BACKGROUND_COLOR);
+            frame.setBackground(BACKGROUND_COLOR);
+            contentPane.add(Yaya.getInstance().getPanel());
+        });
+    }
+
+    private static void initLookAndFeel() {
         System.setProperty("netbeans.winsys.no_help_in_dialogs", "true");
         System.setProperty("netbeans.winsys.no_toolbars", "true");
 
@@ -119,19 +151,4 @@ public class DoOnStart implements Runnable {
 
         UIManager.put("TitledBorder.titleColor", foreground);
     }
-
-    @Override
-    public void run() {
-        var windowManager = WindowManager.getDefault();
-        windowManager.invokeWhenUIReady(() -> {
-            Almond.setFrame((JFrame) windowManager.getMainWindow());
-
-            var frame = (JFrame) windowManager.getMainWindow();
-            var contentPane = frame.getRootPane().getContentPane();
-            contentPane.removeAll();
-            contentPane.setBackground(BACKGROUND_COLOR);
-            frame.setBackground(BACKGROUND_COLOR);
-            contentPane.add(Yaya.getInstance().getPanel());
-        });
-    }
 }
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2026 Patrik Karlström <patrik@trixon.se>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package se.trixon.yaya.dice;
+
+import java.awt.Rectangle;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An animation made of steps, run by an {@link Animator}.
+ * <p>
+ * Each step changes what is animated and returns the time until the next
+ * step. The steps that are due are run in the next frame, so an animation
+ * keeps its pace when frames are late. An animation that knows where it
+ * draws reports it by {@link #getBounds()}, so that only that part of the
+ * board is repainted.
+ *
+ * @author Patrik Karlström <patrik@trixon.se>
+ */
+abstract class Animation {
+
+    /**
+     * Returned by a step to end the animation.
+     */
+    static final long DONE = -1;
+    private long mDelayNanos;
+    private boolean mDone;
+    private Runnable mOnFinished;
+
+    /**
+     *
+     * @param millis
+     * @return an animation that does nothing for a while
+     */
+    static Animation delay(long millis) {
+        return new Animation() {
+            private boolean mStarted;
+
+            @Override
+            Rectangle getBounds() {
+                return new Rectangle();
+            }
+
+            @Override
+            long step() {
+                if (mStarted) {
+                    return DONE;
+                }
+
+                mStarted = true;
+                return millis;
+            }
+        };
+    }
+
+    /**
+     * Called when the animation is cancelled before it is done.
+     */
+    void cancelled() {
+    }
+
+    /**
+     * Runs the steps that are due.
+     *
+     * @param elapsedNanos the animation time since the last frame
+     * @return true if any step was run
+     */
+    boolean advance(long elapsedNanos) {
+        boolean stepped = false;
+        mDelayNanos -= elapsedNanos;
+
+        while (!mDone && mDelayNanos <= 0) {
+            long delay = step();
+            stepped = true;
+            if (delay < 0) {
+                mDone = true;
+            } else {
+                mDelayNanos += TimeUnit.MILLISECONDS.toNanos(delay);
+            }
+        }
+
+        return stepped;
+    }
+
+    void finished() {
+        if (mOnFinished != null) {
+            mOnFinished.run();
+        }
+    }
+
+    /**
+     *
+     * @return the area drawn by what is animated, in board coordinates, or
+     * null to repaint the whole board
+     */
+    Rectangle getBounds() {
+        return null;
+    }
+
+    boolean isDone() {
+        return mDone;
+    }
+
+    void setOnFinished(Runnable onFinished) {
+        mOnFinished = onFinished;
+    }
+
+    /**
+     * Runs the next step.
+     *
+     * @return the milliseconds until the next step, or {@link #DONE}
+     */
+    abstract long step();
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2026 Patrik Karlström <patrik@trixon.se>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package se.trixon.yaya.dice;
+
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import javax.swing.Timer;
+
+/**
+ * Runs the animations of a dice board.
+ * <p>
+ * One Swing timer advances every running animation at a fixed frame rate.
+ * Once per frame, the board is repainted only where the animations drew
+ * before and after their steps. Areas that overlap are merged, the others
+ * are repainted one by one, so that dice far apart do not repaint the
+ * board between them. Everything happens on the event
+ * dispatch thread, so animations are cancelled by removing them and the
+ * callback of an animation runs right after its last step.
+ *
+ * @author Patrik Karlström <patrik@trixon.se>
+ */
+class Animator {
+
+    static final int FRAME_RATE = 60;
+    private static final long MAX_FRAME_NANOS = TimeUnit.MILLISECONDS.toNanos(250);
+    private final ArrayList<Animation> mAnimations = new ArrayList<>();
+    private final Consumer<Rectangle> mRepainter;
+    private long mLastFrame;
+    private int mSpeed = 1;
+    private final Timer mTimer;
+
+    /**
+     *
+     * @param repainter repaints an area of the board right away, or all of
+     * it for null
+     */
+    Animator(Consumer<Rectangle> repainter) {
+        mRepainter = repainter;
+        mTimer = new Timer(1000 / FRAME_RATE, event -> frame());
+        mTimer.setCoalesce(true);
+    }
+
+    /**
+     * Stops an animation without calling its callback.
+     *
+     * @param animation may be null
+     */
+    void cancel(Animation animation) {
+        if (animation != null && mAnimations.remove(animation)) {
+            animation.cancelled();
+        }
+    }
+
+    void cancelAll() {
+        for (var animation : mAnimations.toArray(Animation[]::new)) {
+            cancel(animation);
+        }
+    }
+
+    boolean isRunning(Animation animation) {
+        return animation != null && mAnimations.contains(animation);
+    }
+
+    /**
+     *
+     * @param speed how many times faster than normal the animations run
+     */
+    void setSpeed(int speed) {
+        mSpeed = Math.max(1, speed);
+    }
+
+    void start(Animation animation) {
+        start(animation, null);
+    }
+
+    /**
+     *
+     * @param animation
+     * @param onFinished run when the animation is done, but not when it is
+     * cancelled
+     */
+    void start(Animation animation, Runnable onFinished) {
+        animation.setOnFinished(onFinished);
+        mAnimations.add(animation);
+
+        if (!mTimer.isRunning()) {
+            mLastFrame = System.nanoTime();
+            mTimer.start();
+        }
+    }
+
+    private void frame() {
+        long now = System.nanoTime();
+        long elapsed = Math.min(now - mLastFrame, MAX_FRAME_NANOS) * mSpeed;
+        mLastFrame = now;
+        boolean changedAll = false;
+        var damage = new ArrayList<Rectangle>();
+
+        for (var animation : mAnimations.toArray(Animation[]::new)) {
+            if (!mAnimations.contains(animation)) {
+                continue;
+            }
+
+            var before = animation.getBounds();
+            if (animation.advance(elapsed)) {
+                var after = animation.getBounds();
+                if (before == null || after == null) {
+                    changedAll = true;
+                } else {
+                    addDamage(damage, before);
+                    addDamage(damage, after);
+                }
+            }
+
+            if (animation.isDone()) {
+                mAnimations.remove(animation);
+                animation.finished();
+            }
+        }
+
+        if (changedAll) {
+            mRepainter.accept(null);
+        } else {
+            damage.forEach(mRepainter);
+        }
+
+        if (mAnimations.isEmpty()) {
+            mTimer.stop();
+        }
+    }
+
+    private void addDamage(ArrayList<Rectangle> damage, Rectangle bounds) {
+        if (bounds.isEmpty()) {
+            return;
+        }
+
+        var merged = new Rectangle(bounds);
+        for (int i = damage.size() - 1; i >= 0; i--) {
+            if (damage.get(i).intersects(merged)) {
+                merged.add(damage.remove(i));
+                i = damage.size();
+            }
+        }
+
+        damage.add(merged);
+    }
+}
@@ -15,11 +15,16 @@
  */
 package se.trixon.yaya.dice;
 
+import java.awt.Rectangle;
 import java.util.ArrayList;
 import java.util.concurrent.atomic.AtomicBoolean;
 import javax.swing.JPanel;
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
 import se.trixon.almond.util.GlobalState;
 import se.trixon.yaya.Player.Handedness;
+import se.trixon.yaya.engine.GameSession;
+import se.trixon.yaya.scoring.Hand;
 
 /**
  *
@@ -27,30 +32,47 @@ import se.trixon.yaya.Player.Handedness;
  */
 public class DiceBoard {
 
+    /**
+     * The speed of the animations of fast computer players.
+     */
+    public static final int FAST_SPEED = 4;
+    private static final int SELECT_DELAY = 400;
+    private final Animator mAnimator;
     private final AtomicBoolean mAnyOnFloor = new AtomicBoolean(false);
-
     private final ArrayList<Die> mDice;
     private final DiceBoardPanel mDiceBoardPanel;
-    private Thread mDieWatcherThread;
+    private GameSession mGameSession;
     private final GlobalState mGlobalState;
     private Handedness mHandedness = Handedness.RIGHT;
-    private int mMaxRollCount = 3;
+    private long mHint = Hand.EMPTY;
+    private boolean mInputEnabled = true;
     private int mNumOfDice;
-    private int mNumOfRolls = 0;
     private final Painter mPainter;
     private boolean mPlaySound = true;
     private final Roller mRoller;
+    private Timer mSelectTimer;
+    private int mSpeed = 1;
 
     public DiceBoard(GlobalState globalState, int numOfDice) {
         mGlobalState = globalState;
+        mDiceBoardPanel = new DiceBoardPanel();
+        mAnimator = new Animator(this::repaint);
         mRoller = new Roller(this);
         mPainter = new Painter(this);
         mDice = new ArrayList<>();
-        mDiceBoardPanel = new DiceBoardPanel();
         setNumOfDice(numOfDice);
         init();
     }
 
+    /**
+     * Stops the animations of a board that is replaced, without finishing
+     * the roll in progress.
+     */
+    public void dispose() {
+        stopSelectTimer();
+        mAnimator.cancelAll();
+    }
+
     public void gameOver() {
         mPainter.setRollable(false);
         mPainter.setSelectable(false);
@@ -60,8 +82,8 @@ public class DiceBoard {
         return mAnyOnFloor;
     }
 
-    public int getMaxRollCount() {
-        return mMaxRollCount;
+    public GameSession getGameSession() {
+        return mGameSession;
     }
 
     public int getNumOfDice() {
@@ -69,7 +91,7 @@ public class DiceBoard {
     }
 
     public int getNumOfRolls() {
-        return mNumOfRolls;
+        return mGameSession.getTurnState().getNumOfRolls();
     }
 
     public synchronized int getNumOfSelectedDice() {
@@ -83,37 +105,84 @@ public class DiceBoard {
         return mDiceBoardPanel;
     }
 
-    public ArrayList<Integer> getValues() {
-        return new ArrayList<>(mDice.stream().map(d -> d.getValue()).toList());
+    /**
+     *
+     * @return the current dice values as a {@link Hand}
+     */
+    public long getHand() {
+        long hand = Hand.EMPTY;
+        for (var die : mDice) {
+            hand = Hand.add(hand, die.getValue());
+        }
+
+        return hand;
+    }
+
+    public boolean isInputEnabled() {
+        return mInputEnabled;
     }
 
     public void newTurn() {
-        mNumOfRolls = 0;
         mDiceBoardPanel.repaint();
 
         mPainter.setSelectable(false);
         mPainter.setRollable(true);
         reset();
+        setHint(Hand.EMPTY);
         mRoller.setImage(getNumOfDice());
     }
 
     public void roll() {
+        setHint(Hand.EMPTY);
         mPainter.setRollable(false);
         mPainter.setSelectable(false);
         mAnyOnFloor.set(false);
         mRoller.roll();
 
+        var rolled = afterAll((int) mDice.stream().filter(die -> die.isSelected()).count(), this::rolled);
         for (var die : mDice) {
             if (die.isSelected()) {
-                die.roll();
+                die.roll(rolled);
             } else {
                 die.setWasSelected(false);
             }
         }
 
         mRoller.setImage(getNumOfSelectedDice());
-        mDieWatcherThread = new Thread(new DieWatchRunner());
-        mDieWatcherThread.start();
+    }
+
+    /**
+     * Rolls the dice that are not kept, like releasing the shaken roller,
+     * for a computer player.
+     *
+     * @param keep the dice to keep, {@link Hand#EMPTY} to roll all of them
+     */
+    public void roll(long keep) {
+        boolean animate = mSpeed == 1 && keep != Hand.EMPTY;
+        long remaining = keep;
+
+        for (var die : mDice) {
+            boolean kept = die.getValue() > 0 && Hand.count(remaining, die.getValue()) > 0;
+            if (kept) {
+                remaining = Hand.remove(remaining, die.getValue());
+            }
+            die.setSelected(!kept, animate);
+        }
+
+        if (animate) {
+            stopSelectTimer();
+            var snapshot = mGameSession.getSnapshot();
+            mSelectTimer = new Timer(SELECT_DELAY, event -> {
+                mSelectTimer = null;
+                if (mGameSession.getSnapshot() == snapshot) {
+                    rollPreOp();
+                }
+            });
+            mSelectTimer.setRepeats(false);
+            mSelectTimer.start();
+        } else {
+            rollPreOp();
+        }
     }
 
     public void setDiceTofloor(int frequency) {
@@ -122,29 +191,77 @@ public class DiceBoard {
         });
     }
 
+    /**
+     *
+     * @param gameSession receives the rolls of the dice
+     */
+    public void setGameSession(GameSession gameSession) {
+        mGameSession = gameSession;
+    }
+
+    /**
+     * Marks the dice to keep for the next roll.
+     *
+     * @param keep the dice to keep, {@link Hand#EMPTY} for no hint
+     */
+    public void setHint(long keep) {
+        mHint = keep;
+        updateHint();
+    }
+
     public void setHandMode(Handedness handMode) {
         mHandedness = handMode;
     }
 
-    public void setMaxRollCount(int maxRollCount) {
-        mMaxRollCount = maxRollCount;
+    /**
+     *
+     * @param inputEnabled false while a computer player has the dice
+     */
+    public void setInputEnabled(boolean inputEnabled) {
+        mInputEnabled = inputEnabled;
     }
 
     public void setPlaySound(boolean playSound) {
         mPlaySound = playSound;
     }
 
+    /**
+     *
+     * @param speed how many times faster than normal the dice are animated
+     */
+    public void setSpeed(int speed) {
+        mSpeed = Math.max(1, speed);
+        mAnimator.setSpeed(mSpeed);
+    }
+
+    /**
+     *
+     * @param volatileBuffer true to draw the dice in an accelerated back
+     * buffer
+     */
+    public void setVolatileBuffer(boolean volatileBuffer) {
+        mPainter.setVolatileBuffer(volatileBuffer);
+        mDiceBoardPanel.repaint();
+    }
+
     public void undo() {
+        stopSelectTimer();
         mPainter.setRollable(false);
         mPainter.setSelectable(false);
 
-        mDice.forEach(die -> {
+        var values = Hand.toArray(mGameSession.getTurnState().getHand());
+        for (int i = 0; i < mDice.size(); i++) {
+            var die = mDice.get(i);
+            die.setValue(values[i]);
             die.setVisible(true);
             die.setEnabled(false);
-        });
+        }
 
         mDiceBoardPanel.repaint();
-        mGlobalState.put(RollEvent.class.getName(), RollEvent.POST_ROLL);
+    }
+
+    Animator getAnimator() {
+        return mAnimator;
     }
 
     ArrayList<Die> getDice() {
@@ -167,14 +284,35 @@ public class DiceBoard {
         return mPlaySound;
     }
 
+    /**
+     * Spreads the hint over the dice, preferring dice that are not selected
+     * for the next roll, so that following the hint moves as few dice as
+     * possible.
+     */
+    void updateHint() {
+        long remaining = mHint;
+        for (var die : mDice) {
+            die.setHinted(false);
+        }
+
+        for (boolean selected : new boolean[]{false, true}) {
+            for (var die : mDice) {
+                if (die.isSelected() == selected && die.getValue() > 0 && Hand.count(remaining, die.getValue()) > 0) {
+                    die.setHinted(true);
+                    remaining = Hand.remove(remaining, die.getValue());
+                }
+            }
+        }
+
+        mDiceBoardPanel.repaint();
+    }
+
     void rollPostOp() {
-        mNumOfRolls++;
-        boolean enable = false;
+        mGameSession.roll(getHand());
+        boolean enable = mGameSession.canRoll();
 
-        if (mNumOfRolls == mMaxRollCount) {
+        if (!enable) {
             endOfTurn();
-        } else {
-            enable = true;
         }
 
         mPainter.setRollable(false);
@@ -191,6 +329,26 @@ public class DiceBoard {
         }
     }
 
+    /**
+     *
+     * @param count
+     * @param action
+     * @return a callback that runs the action the <code>count</code>th time
+     * it is called, or runs it right away if the count is zero
+     */
+    private Runnable afterAll(int count, Runnable action) {
+        if (count == 0) {
+            action.run();
+        }
+
+        var remaining = new int[]{count};
+        return () -> {
+            if (--remaining[0] == 0) {
+                action.run();
+            }
+        };
+    }
+
     private void endOfTurn() {
         mDice.forEach(die -> {
             die.setEnabled(false);
@@ -201,12 +359,68 @@ public class DiceBoard {
         mDiceBoardPanel.add(mPainter);
     }
 
+    /**
+     * Moves the thrown dice back to the board after one of them fell to the
+     * floor, to be thrown again.
+     */
+    private void onFloor() {
+        var dice = mDice.stream().filter(die -> die.wasSelected()).toList();
+        var moved = afterAll(dice.size(), () -> {
+            mDice.forEach(die -> {
+                die.setSelected(die.wasSelected(), false);
+                mPainter.setRollable(true);
+                mPainter.calcRollable();
+            });
+
+            if (!mInputEnabled) {
+                rollPreOp();
+            }
+        });
+
+        for (var die : dice) {
+            if (die.isOnFloor()) {
+                die.moveInFromTop(moved);
+            } else {
+                die.moveToTop(moved);
+            }
+        }
+    }
+
+    /**
+     * Repaints an area of the painter right away, mirrored like the painter
+     * draws it, so that the areas of one frame are not merged.
+     *
+     * @param bounds in the coordinates the painter draws in, null to
+     * schedule a repaint of the whole board
+     */
+    private void repaint(Rectangle bounds) {
+        if (bounds == null) {
+            mDiceBoardPanel.repaint();
+            return;
+        }
+
+        var damage = new Rectangle(bounds);
+        if (mHandedness == Handedness.RIGHT) {
+            damage.x = mPainter.getWidth() - damage.x - damage.width;
+        }
+
+        mDiceBoardPanel.paintImmediately(SwingUtilities.convertRectangle(mPainter, damage, mDiceBoardPanel));
+    }
+
     private void reset() {
         mDice.forEach(die -> {
             die.reset();
         });
     }
 
+    private void rolled() {
+        if (mAnyOnFloor.get()) {
+            onFloor();
+        } else {
+            rollPostOp();
+        }
+    }
+
     private void setNumOfDice(int numOfDice) {
         mNumOfDice = numOfDice;
         mDice.clear();
@@ -216,50 +430,14 @@ public class DiceBoard {
         }
     }
 
-    private class DieWatchRunner implements Runnable {
-
-        @Override
-        public void run() {
-            mDice.forEach(die -> {
-                try {
-                    die.getRollThread().join();
-                } catch (InterruptedException ex) {
-                    //
-                }
-            });
-
-            if (mAnyOnFloor.get()) {
-                onFloor();
-            } else {
-                rollPostOp();
-            }
-        }
-
-        private void onFloor() {
-            mDice.stream()
-                    .filter(die -> die.wasSelected())
-                    .forEachOrdered(die -> {
-                        if (die.isOnFloor()) {
-                            die.moveInFromTop();
-                        } else {
-                            die.moveToTop();
-                        }
-                    });
-
-            mDice.forEach(die -> {
-                try {
-                    die.getMoveInFromTopThread().join();
-                    die.getMoveToTopThread().join();
-                } catch (InterruptedException ex) {
-                    //
-                }
-            });
-
-            mDice.forEach(die -> {
-                die.setSelected(die.wasSelected(), false);
-                mPainter.setRollable(true);
-                mPainter.calcRollable();
-            });
+    /**
+     * Stops a computer player's roll that waits for its selected dice to be
+     * shown.
+     */
+    private void stopSelectTimer() {
+        if (mSelectTimer != null) {
+            mSelectTimer.stop();
+            mSelectTimer = null;
         }
     }
 }
@@ -17,12 +17,12 @@ package se.trixon.yaya.dice;
 
 import java.awt.Dimension;
 import java.awt.Graphics;
-import java.awt.Graphics2D;
 import java.awt.GridLayout;
 import java.awt.image.BufferedImage;
 import javax.swing.JPanel;
 import javax.swing.event.AncestorEvent;
 import javax.swing.event.AncestorListener;
+import se.trixon.yaya.TiledBackground;
 import se.trixon.yaya.Yaya;
 
 /**
@@ -32,36 +32,24 @@ import se.trixon.yaya.Yaya;
 class DiceBoardPanel extends JPanel {
 
     private static final Dimension PREFERRED_DIMENSION = new Dimension(1000, 200);
-    private BufferedImage mBackgroundImage;
+    private final TiledBackground mBackground = new TiledBackground();
 
     DiceBoardPanel() {
         init();
     }
 
     public BufferedImage getBackgroundImage() {
-        return mBackgroundImage;
+        return mBackground.getTile();
     }
 
     @Override
     public void paint(Graphics g) {
-        var g2 = (Graphics2D) g;
-
-        if (mBackgroundImage != null) {
-            for (int i = 0; i < (getHeight() / mBackgroundImage.getHeight()) + 1; i++) {
-                if (getWidth() < mBackgroundImage.getWidth()) {
-                    g2.drawImage(mBackgroundImage, 0, i * mBackgroundImage.getHeight(), null);
-                } else {
-                    g2.drawImage(mBackgroundImage, 0, i * mBackgroundImage.getHeight(), getWidth(), mBackgroundImage.getHeight(), null);
-                }
-            }
-        }
-
+        mBackground.paint(g, getWidth(), getHeight());
         super.paint(g);
-        g2.dispose();
     }
 
     public void setBackgroundImage(BufferedImage backgroundImage) {
-        mBackgroundImage = backgroundImage;
+        mBackground.setTile(backgroundImage);
     }
 
     @Override
@@ -15,14 +15,12 @@
  */
 package se.trixon.yaya.dice;
 
-import java.awt.image.AffineTransformOp;
+import java.awt.Rectangle;
 import java.awt.image.BufferedImage;
 import java.util.Random;
-import java.util.concurrent.TimeUnit;
-import javax.swing.SwingUtilities;
-import org.openide.util.Exceptions;
 import se.trixon.yaya.dice.data.image.DiceImage;
-import se.trixon.yaya.dice.data.sound.Sound;
+import se.trixon.yaya.dice.data.image.DiceSprites;
+import se.trixon.yaya.dice.data.sound.SoundMixer;
 
 /**
  *
@@ -34,20 +32,25 @@ class Die {
     private static final int MAX_DR_1 = 4;
     private static final int MAX_DR_2 = 20;
     private static final int MAX_DR_3 = 4;
+    private final Animator mAnimator;
     private BufferedImage mBufferedImage;
     private int mCenter;
     private final int mColumn;
     private final DiceBoard mDiceBoard;
     private int mDiceToFloor = 0;
+    private boolean mHinted;
     private String mImagePath;
-    private MoveInFromTopThread mMoveInFromTopThread = new MoveInFromTopThread();
-    private MoveToTopThread mMoveToTopThread = new MoveToTopThread();
+    private Animation mMoveAnimation;
     private int mOffsetX;
     private boolean mOnFloor = false;
     private final Random mRandom = new Random();
-    private RollThread mRollThread = new RollThread();
-    private SelectThread mSelectThread = new SelectThread();
+    private RollAnimation mRollAnimation;
+    private Animation mSelectAnimation;
     private boolean mSelected = true;
+    private final SoundMixer mSoundMixer = SoundMixer.getInstance();
+    private final DiceSprites mSprites = DiceSprites.getInstance();
+    private int mSpriteX;
+    private int mSpriteY;
     private int mStoredY;
     private int mValue;
     private boolean mVisible;
@@ -57,22 +60,11 @@ class Die {
 
     Die(DiceBoard diceBoard, int column) {
         mDiceBoard = diceBoard;
+        mAnimator = diceBoard.getAnimator();
         mColumn = column;
         init();
     }
 
-    public MoveInFromTopThread getMoveInFromTopThread() {
-        return mMoveInFromTopThread;
-    }
-
-    public MoveToTopThread getMoveToTopThread() {
-        return mMoveToTopThread;
-    }
-
-    public RollThread getRollThread() {
-        return mRollThread;
-    }
-
     public boolean isOnFloor() {
         return mOnFloor;
     }
@@ -89,6 +81,32 @@ class Die {
         return mWasSelected;
     }
 
+    int generateValue() {
+        mValue = mRandom.nextInt(6) + 1;
+        int variant = mRandom.nextInt(DiceSprites.NUM_OF_ROLLED_VARIANTS) + 1;
+        mImagePath = DiceSprites.getPath(mValue, variant);
+
+        setBufferedImage(mImagePath);
+
+        return mValue;
+    }
+
+    /**
+     *
+     * @return the area the die is drawn in, including its hint, or an empty
+     * rectangle if it is not visible
+     */
+    Rectangle getBounds() {
+        if (!mVisible || mBufferedImage == null) {
+            return new Rectangle();
+        }
+
+        var bounds = new Rectangle(getX(), getY(), mBufferedImage.getWidth(), mBufferedImage.getHeight());
+        bounds.grow(Painter.HINT_MARGIN + 2, Painter.HINT_MARGIN + 2);
+
+        return bounds;
+    }
+
     int getCenter() {
         return mCenter;
     }
@@ -106,28 +124,19 @@ class Die {
     }
 
     int getX() {
-        return mCenter + mOffsetX;
+        return mCenter + mOffsetX + mSpriteX;
     }
 
     int getY() {
-        return mY;
-    }
-
-    void interruptAllThreads() {
-        mRollThread.interrupt();
-        mSelectThread.interrupt();
-        mMoveToTopThread.interrupt();
-        mMoveInFromTopThread.interrupt();
-
-        try {
-            mRollThread.join();
-            mSelectThread.join();
-            mMoveToTopThread.join();
-            mMoveInFromTopThread.join();
-        } catch (InterruptedException ex) {
-            Exceptions.printStackTrace(ex);
-        }
+        return mY + mSpriteY;
+    }
 
+    boolean isHinted() {
+        return mHinted;
+    }
+
+    boolean isRolling() {
+        return mAnimator.isRunning(mRollAnimation);
     }
 
     boolean isSelected() {
@@ -138,37 +147,104 @@ class Die {
         return mVisible;
     }
 
-    void moveInFromTop() {
-        mMoveInFromTopThread = new MoveInFromTopThread();
-        mMoveInFromTopThread.start();
-    }
+    /**
+     * Moves the die from above the board down to its row.
+     *
+     * @param onFinished
+     */
+    void moveInFromTop(Runnable onFinished) {
+        mAnimator.cancel(mMoveAnimation);
+        mY = -100;
+        mMoveAnimation = new Animation() {
+            @Override
+            Rectangle getBounds() {
+                return Die.this.getBounds();
+            }
 
-    void moveToTop() {
-        mMoveToTopThread = new MoveToTopThread();
-        mMoveToTopThread.start();
+            @Override
+            long step() {
+                if (mY >= -20) {
+                    return DONE;
+                }
+
+                mY = Math.min(0, mY + 10);
+                setBufferedImage(mImagePath);
+
+                return 80;
+            }
+        };
+        mAnimator.start(mMoveAnimation, onFinished);
+    }
+
+    /**
+     * Moves the die up to the top of the board.
+     *
+     * @param onFinished
+     */
+    void moveToTop(Runnable onFinished) {
+        mAnimator.cancel(mMoveAnimation);
+        mMoveAnimation = new Animation() {
+            @Override
+            Rectangle getBounds() {
+                return Die.this.getBounds();
+            }
+
+            @Override
+            long step() {
+                if (mY <= 0) {
+                    return DONE;
+                }
+
+                mY = Math.max(0, mY - 10);
+                setBufferedImage(mImagePath);
+
+                return 80;
+            }
+        };
+        mAnimator.start(mMoveAnimation, onFinished);
     }
 
     void reset() {
+        cancelAnimations();
         setVisible(false);
         mSelected = true;
         mWasSelected = false;
     }
 
-    void roll() {
-        if (mRollThread.isAlive()) {
+    /**
+     * Throws the die, replacing any other animation it has. A die that is
+     * already rolling is left alone, and its roll keeps its callback.
+     *
+     * @param onFinished run when the die has landed
+     */
+    void roll(Runnable onFinished) {
+        if (mAnimator.isRunning(mRollAnimation)) {
             return;
         }
 
-        interruptAllThreads();
+        cancelAnimations();
 
         mOnFloor = false;
         mWasSelected = true;
-        mRollThread = new RollThread();
-        mRollThread.start();
+        mRollAnimation = new RollAnimation();
+        mAnimator.start(mRollAnimation, onFinished);
 
         mSelected = false;
     }
 
+    /**
+     * Shows the current face rotated around its center, using the nearest
+     * pre-rendered angle.
+     *
+     * @param theta
+     */
+    void rotate(double theta) {
+        var sprite = mSprites.get(mImagePath, theta);
+        mBufferedImage = sprite.image();
+        mSpriteX = sprite.x();
+        mSpriteY = sprite.y();
+    }
+
     void setCenter(int centerValue) {
         mCenter = centerValue;
     }
@@ -180,326 +256,274 @@ class Die {
     void setEnabled(boolean b) {
     }
 
+    void setHinted(boolean hinted) {
+        mHinted = hinted;
+    }
+
     void setSelected(boolean selected, boolean withAnimation) {
-        if (mRollThread.isAlive() || mSelectThread.isAlive()) {
+        if (isRolling() || mAnimator.isRunning(mSelectAnimation)) {
             return;
         }
 
         mSelected = selected;
+        mDiceBoard.updateHint();
 
         if (withAnimation) {
-            mSelectThread = new SelectThread();
-            mSelectThread.start();
+            mSelectAnimation = new SelectAnimation();
+            mAnimator.start(mSelectAnimation, () -> mDiceBoard.getPainter().calcRollable());
         }
     }
 
-    void setVisible(boolean visible) {
-        mVisible = visible;
-    }
-
-    private int generateValue() {
-        mValue = mRandom.nextInt(6) + 1;
-        int variant = mRandom.nextInt(2) + 1;
-        int mode = 0;
-        mImagePath = String.format("dice/%d_%02d_%02d.png", mode, mValue, variant);
+    void setValue(int value) {
+        mValue = value;
+        mImagePath = DiceSprites.getPath(mValue, 1);
 
         setBufferedImage(mImagePath);
-
-        return mValue;
     }
 
-    private String getThreadName(Thread t) {
-        return "%s: %d".formatted(t.getClass().getSimpleName(), mColumn);
-    }
-
-    private void init() {
+    void setVisible(boolean visible) {
+        mVisible = visible;
     }
 
-    private void repaintDiceBoard() {
-        SwingUtilities.invokeLater(() -> {
-            mDiceBoard.getPanel().repaint();
-        });
+    private void cancelAnimations() {
+        mAnimator.cancel(mRollAnimation);
+        mAnimator.cancel(mSelectAnimation);
+        mAnimator.cancel(mMoveAnimation);
     }
 
-    private void rotate(double theta) {
-        var affineTransform = mBufferedImage.createGraphics().getTransform();
-        affineTransform.rotate(theta, mBufferedImage.getWidth() / 2, mBufferedImage.getHeight() / 2);
-        var affineTransformOp = new AffineTransformOp(affineTransform, AffineTransformOp.TYPE_BICUBIC);
-
-        mBufferedImage = affineTransformOp.filter(mBufferedImage, null);
+    private void init() {
     }
 
     private void setBufferedImage(String imagePath) {
         mBufferedImage = DiceImage.get(imagePath);
+        mSpriteX = 0;
+        mSpriteY = 0;
     }
 
-    private void startThread(Thread t, Runnable r) {
-        if (t.isAlive()) {
-            t.interrupt();
-        }
-
-        t = new Thread(r, "%s: %d".formatted(r.getClass().getSimpleName(), mColumn));
-        t.start();
+    private enum Phase {
+        DELAY,
+        ROLL_OUT,
+        SPIN,
+        TO_FLOOR,
+        VIBRATE
     }
 
-    class MoveInFromTopThread extends Thread {
+    private class RollAnimation extends Animation {
 
-        public MoveInFromTopThread() {
-            setName(getThreadName(this));
-        }
+        private int mBaseX;
+        private int mBaseY;
+        private int mLoops;
+        private Phase mPhase = Phase.DELAY;
+        private SoundMixer.Voice mSound;
+        private int mStep;
 
         @Override
-        public void run() {
-            mY = -100;
-            while (mY < -20) {
-                mY += 10;
-                mY = Math.min(0, mY);
-
-                setBufferedImage(mImagePath);
-
-                repaintDiceBoard();
-
-                try {
-                    TimeUnit.MILLISECONDS.sleep(80);
-                } catch (InterruptedException ex) {
-                }
+        void cancelled() {
+            if (mSound != null) {
+                mSound.stop();
             }
         }
-    }
-
-    class MoveToTopThread extends Thread {
 
-        public MoveToTopThread() {
-            setName(getThreadName(this));
+        @Override
+        Rectangle getBounds() {
+            return Die.this.getBounds();
         }
 
         @Override
-        public void run() {
-            while (mY > 0) {
-                mY -= 10;
-                mY = Math.max(0, mY);
-                setBufferedImage(mImagePath);
+        long step() {
+            int step = mStep++;
+
+            return switch (mPhase) {
+                case DELAY ->
+                    /*
+                     * This random delay manage the start order of the dice.
+                     */
+                    next(Phase.ROLL_OUT, mRandom.nextInt(300 / (mColumn + 1)));
+                case ROLL_OUT ->
+                    rollOut(step);
+                case SPIN ->
+                    spin(step);
+                case TO_FLOOR ->
+                    diceToFloor(step);
+                case VIBRATE ->
+                    vibrate(step);
+            };
+        }
+
+        private long diceToFloor(int step) {
+            if (step == 0) {
+                mOnFloor = true;
 
-                repaintDiceBoard();
-                try {
-                    TimeUnit.MILLISECONDS.sleep(80);
-                } catch (InterruptedException ex) {
+                if (mDiceBoard.isPlaySound()) {
+                    mSoundMixer.play("dtf.au");
                 }
             }
-            Thread.currentThread().interrupt();
-        }
-    }
 
-    class RollThread extends Thread {
+            if (mY >= 200) {
+                return DONE;
+            }
 
-        private int mBaseX;
-        private int mBaseY;
-        private int mLoops;
+            mY += 10;
+            setBufferedImage(mImagePath);
 
-        public RollThread() {
-            setName(getThreadName(this));
+            return 60;
         }
 
-        @Override
-        public void run() {
-            /*
-            * This random delay manage the start order of the dice.
-             */
-            try {
-                TimeUnit.MILLISECONDS.sleep(mRandom.nextInt(300 / (mColumn + 1)));
-            } catch (InterruptedException ex) {
-            }
+        private long next(Phase phase, long delay) {
+            mPhase = phase;
+            mStep = 0;
 
-            mX = 0;
-            /*
-             * Roll the die from the hand to its column.
-             */
-            rollOut();
-            /*
-            * ...continue to generate values and a new positions.
-             */
-            spin();
-
-            if (mY < 30 && mDiceToFloor > 0) {
-                if (!mDiceBoard.getAnyOnFloor().get() && mRandom.nextInt(mDiceToFloor) == mRandom.nextInt(mDiceToFloor)) {
-                    mDiceBoard.getAnyOnFloor().set(true);
-                    diceToFloor();
-                } else {
-                    vibrate();
-                }
-            } else {
-                /*
-                * ...final wobble, don't generate a new mValue.
-                 */
-                vibrate();
-            }
+            return delay;
         }
 
-        private void diceToFloor() {
-            mOnFloor = true;
-
-            if (mDiceBoard.isPlaySound()) {
-                new Sound("dtf.au", true, false);
-            }
-
-            while (mY < 200) {
-                mY += 10;
-                setBufferedImage(mImagePath);
+        /**
+         * Rolls the die from the hand to its column.
+         */
+        private long rollOut(int step) {
+            if (step == 0) {
+                mX = 0;
 
-                repaintDiceBoard();
-                try {
-                    TimeUnit.MILLISECONDS.sleep(60);
-                } catch (InterruptedException ex) {
+                if (mDiceBoard.isPlaySound()) {
+                    int variant = mRandom.nextInt(MAX_DR_2) + 1;
+                    mSound = mSoundMixer.play(String.format("dr_2_%02d.au", variant), 1f, mRandom.nextInt(100), true);
                 }
             }
-        }
-
-        private void rollOut() {
-            Sound sound = null;
 
-            if (mDiceBoard.isPlaySound()) {
-                int variant = mRandom.nextInt(MAX_DR_2) + 1;
-                sound = new Sound(String.format("dr_2_%02d.au", variant), false, true);
-                sound.play(100);
+            if (mX >= mCenter - 75) {
+                stopSound();
+                return next(Phase.SPIN, 0);
             }
 
-            while (mX < mCenter - 75) {
-                mX += mRandom.nextInt(95) + 25;
-                mY = MARGIN_Y + mRandom.nextInt(60);
-                mOffsetX = mX - mCenter;
+            mX += mRandom.nextInt(95) + 25;
+            mY = MARGIN_Y + mRandom.nextInt(60);
+            mOffsetX = mX - mCenter;
 
-                mValue = generateValue();
-                rotate(2 * Math.PI * mRandom.nextDouble());
-                if (!isVisible()) {
-                    setVisible(true);
-                }
+            mValue = generateValue();
+            rotate(2 * Math.PI * mRandom.nextDouble());
+            if (!isVisible()) {
+                setVisible(true);
+            }
 
-                repaintDiceBoard();
+            return 30;
+        }
 
-                try {
-                    TimeUnit.MILLISECONDS.sleep(30);
-                } catch (InterruptedException ex) {
+        /**
+         * ...continue to generate values and new positions.
+         */
+        private long spin(int step) {
+            if (step == 0) {
+                mBaseY = mY;
+                mLoops = mRandom.nextInt(7) + 5;
+
+                if (mDiceBoard.isPlaySound()) {
+                    int variant = mRandom.nextInt(MAX_DR_2) + 1;
+                    mSound = mSoundMixer.play(String.format("dr_2_%02d.au", variant), 1f, mRandom.nextInt(200), true);
                 }
             }
 
-            if (sound != null) {
-                sound.stop();
-            }
-        }
-
-        private void spin() {
-            mBaseY = mY;
-            mLoops = mRandom.nextInt(7) + 5;
-            Sound sound = null;
+            if (step == mLoops) {
+                stopSound();
 
-            if (mDiceBoard.isPlaySound()) {
-                int variant = mRandom.nextInt(MAX_DR_2) + 1;
-                sound = new Sound(String.format("dr_2_%02d.au", variant), false, true);
-                sound.play(200);
+                if (mY < 30 && mDiceToFloor > 0
+                        && !mDiceBoard.getAnyOnFloor().get()
+                        && mRandom.nextInt(mDiceToFloor) == mRandom.nextInt(mDiceToFloor)) {
+                    mDiceBoard.getAnyOnFloor().set(true);
+                    return next(Phase.TO_FLOOR, 0);
+                } else {
+                    return next(Phase.VIBRATE, 0);
+                }
             }
 
-            for (int i = 0; i < mLoops; i++) {
-                mValue = generateValue();
-                double factor = 1.2;
-                double theta = factor * mRandom.nextDouble();
-                rotate(-factor + 2 * factor * theta);
-
-                int randomSize = Math.max(1, Painter.DIE_CELL_WIDTH - mBufferedImage.getWidth());
-                mX = (mCenter - Painter.DIE_CELL_WIDTH / 2) + mRandom.nextInt(randomSize);
-                mY = mBaseY + mRandom.nextInt(30) - 10;
-                mOffsetX = mX - mCenter;
+            mValue = generateValue();
+            double factor = 1.2;
+            double theta = factor * mRandom.nextDouble();
+            rotate(-factor + 2 * factor * theta);
 
-                repaintDiceBoard();
+            int randomSize = Math.max(1, Painter.DIE_CELL_WIDTH - mBufferedImage.getWidth());
+            mX = (mCenter - Painter.DIE_CELL_WIDTH / 2) + mRandom.nextInt(randomSize);
+            mY = mBaseY + mRandom.nextInt(30) - 10;
+            mOffsetX = mX - mCenter;
 
-                try {
-                    TimeUnit.MILLISECONDS.sleep(mRandom.nextInt(40) + 120);
-                } catch (InterruptedException ex) {
-                }
-            }
+            return mRandom.nextInt(40) + 120;
+        }
 
-            if (sound != null) {
-                sound.stop();
+        private void stopSound() {
+            if (mSound != null) {
+                mSound.stop();
+                mSound = null;
             }
         }
 
-        private void vibrate() {
-            mLoops = mRandom.nextInt(10) + 3;
-            Sound sound = null;
-
-            if (mDiceBoard.isPlaySound()) {
-                int variant = mRandom.nextInt(MAX_DR_3) + 1;
-                sound = new Sound(String.format("dr_3_%02d.au", variant));
-                sound.play(100);
-            }
+        /**
+         * ...final wobble, don't generate a new value.
+         */
+        private long vibrate(int step) {
+            if (step == 0) {
+                mLoops = mRandom.nextInt(10) + 3;
 
-            mBaseX = mX;
-            mBaseY = mY;
+                if (mDiceBoard.isPlaySound()) {
+                    int variant = mRandom.nextInt(MAX_DR_3) + 1;
+                    mSound = mSoundMixer.play(String.format("dr_3_%02d.au", variant), 1f, mRandom.nextInt(100), false);
+                }
 
-            for (int i = 0; i < mLoops; i++) {
-                mX = mBaseX + mRandom.nextInt(6) - 3;
-                mY = mBaseY + mRandom.nextInt(6) - 3;
-                mOffsetX = mX - mCenter;
+                mBaseX = mX;
+                mBaseY = mY;
+            }
 
+            if (step == mLoops) {
                 setBufferedImage(mImagePath);
+                mStoredY = mY;
 
-                double factor = 0.2;
-                double theta = factor * mRandom.nextDouble();
-                rotate(-factor + 2 * factor * theta);
-
-                repaintDiceBoard();
-
-                try {
-                    TimeUnit.MILLISECONDS.sleep(30);
-                } catch (InterruptedException ex) {
+                if (mSound != null) {
+                    mSound.stop(600);
                 }
+                mSound = null;
+
+                return DONE;
             }
 
+            mX = mBaseX + mRandom.nextInt(6) - 3;
+            mY = mBaseY + mRandom.nextInt(6) - 3;
+            mOffsetX = mX - mCenter;
+
             setBufferedImage(mImagePath);
-            repaintDiceBoard();
-            mStoredY = mY;
 
-            if (sound != null && sound.getClip().isRunning()) {
-                sound.stop(600);
-            }
+            double factor = 0.2;
+            double theta = factor * mRandom.nextDouble();
+            rotate(-factor + 2 * factor * theta);
+
+            return 30;
         }
     }
 
-    class SelectThread extends Thread {
+    private class SelectAnimation extends Animation {
 
-        public SelectThread() {
-            setName(getThreadName(this));
-        }
+        private final int mEndPos = mDiceBoard.getPanel().getHeight();
 
         @Override
-        public void run() {
-            int endPos = mDiceBoard.getPanel().getHeight();
+        Rectangle getBounds() {
+            return Die.this.getBounds();
+        }
 
+        @Override
+        long step() {
             if (mSelected) {
-                while (mY < endPos) {
-                    mY = Math.min((int) (mY * 1.3), endPos);
-                    setBufferedImage(mImagePath);
-
-                    repaintDiceBoard();
-
-                    try {
-                        TimeUnit.MILLISECONDS.sleep(30);
-                    } catch (InterruptedException ex) {
-                    }
+                if (mY >= mEndPos) {
+                    return DONE;
                 }
-            } else {
-                while (mY > mStoredY) {
-                    mY = Math.max(mY - (int) (mY * 0.3), mStoredY);
-                    setBufferedImage(mImagePath);
-
-                    repaintDiceBoard();
 
-                    try {
-                        TimeUnit.MILLISECONDS.sleep(30);
-                    } catch (InterruptedException ex) {
-                    }
+                mY = Math.min(Math.max(mY + 1, (int) (mY * 1.3)), mEndPos);
+            } else {
+                if (mY <= mStoredY) {
+                    return DONE;
                 }
+
+                mY = Math.max(mY - (int) (mY * 0.3), mStoredY);
             }
-            mDiceBoard.getPainter().calcRollable();
+
+            setBufferedImage(mImagePath);
+
+            return 30;
         }
     }
 }
@@ -15,17 +15,25 @@
  */
 package se.trixon.yaya.dice;
 
+import java.awt.AlphaComposite;
+import java.awt.BasicStroke;
 import java.awt.Color;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
 import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
 import java.awt.event.HierarchyBoundsListener;
 import java.awt.event.HierarchyEvent;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseWheelEvent;
+import java.awt.image.VolatileImage;
 import javax.swing.JPanel;
 import javax.swing.event.MouseInputAdapter;
+import se.trixon.yaya.ImageManager;
 import se.trixon.yaya.Options;
 import se.trixon.yaya.Player.Handedness;
 
@@ -36,18 +44,24 @@ import se.trixon.yaya.Player.Handedness;
 class Painter extends JPanel {
 
     static final int DIE_CELL_WIDTH = 140;
+    static final int HINT_MARGIN = 4;
     static final int MARGIN_X_ROLLER = 10;
     static final int MARGIN_Y_ROLLER = 20;
+    private static final Color HINT_COLOR = new Color(255, 215, 0, 200);
+    private static final BasicStroke HINT_STROKE = new BasicStroke(4f);
     private static final int MARGIN_X_DICE_SET = 160;
 
     private final DiceBoard mDiceBoard;
     private Roller mDiceRoller;
     private int mDiceSetX;
     private int mDieAreaWidth;
+    private VolatileImage mBackBuffer;
     private Graphics2D mG2;
+    private final ImageManager mImageManager = ImageManager.getInstance();
     private final Options mOptions = Options.getInstance();
     private boolean mRollable;
     private boolean mSelectable;
+    private boolean mVolatileBuffer;
 
     Painter(DiceBoard diceBoard) {
         mDiceBoard = diceBoard;
@@ -56,21 +70,14 @@ class Painter extends JPanel {
 
     @Override
     public void paint(Graphics g) {
-        mG2 = (Graphics2D) g;
-        var originalAffineTransform = mG2.getTransform();
+        var graphicsConfiguration = getGraphicsConfiguration();
+        mImageManager.setGraphicsConfiguration(graphicsConfiguration);
 
-        if (mDiceBoard.getHandedness() == Handedness.RIGHT) {
-            var affineTransform = originalAffineTransform;
-            affineTransform.scale(-1, 1);
-            affineTransform.translate(-getWidth(), 0);
-            mG2.setTransform(affineTransform);
+        if (mVolatileBuffer && graphicsConfiguration != null && getWidth() > 0 && getHeight() > 0) {
+            paintBuffered(g, graphicsConfiguration);
+        } else {
+            paintFrame(g);
         }
-
-        paintDiceRoller();
-        paintDice();
-        //paintGrid();
-
-        mG2.setTransform(originalAffineTransform);
     }
 
     @Override
@@ -111,11 +118,23 @@ class Painter extends JPanel {
         mSelectable = selectable;
     }
 
+    void setVolatileBuffer(boolean volatileBuffer) {
+        mVolatileBuffer = volatileBuffer;
+        if (!volatileBuffer && mBackBuffer != null) {
+            mBackBuffer.flush();
+            mBackBuffer = null;
+        }
+    }
+
     private void init() {
         addMouseListener(new DiceMouseInputAdapter());
         addMouseMotionListener(new MouseInputAdapter() {
             @Override
             public void mouseMoved(MouseEvent e) {
+                if (!mDiceBoard.isInputEnabled()) {
+                    return;
+                }
+
                 var point = translateMousePoint(e.getPoint());
                 int x = point.x;
 
@@ -134,6 +153,9 @@ class Painter extends JPanel {
         addMouseWheelListener(new MouseAdapter() {
             @Override
             public void mouseWheelMoved(MouseWheelEvent e) {
+                if (!mDiceBoard.isInputEnabled()) {
+                    return;
+                }
 
                 if (isSelectable() && isDiceStoped()) {
                     int dir = e.getWheelRotation();
@@ -162,26 +184,74 @@ class Painter extends JPanel {
     }
 
     private boolean isDiceStoped() {
-        boolean stopped = true;
+        return mDiceBoard.getDice().stream().noneMatch(die -> die.isRolling());
+    }
 
-        for (var die : mDiceBoard.getDice()) {
-            if (die.getRollThread().isAlive()) {
-                stopped = false;
-                break;
+    /**
+     * Paints the damaged part of the frame in the back buffer and copies it
+     * to the screen, painting it again as long as the buffer loses its
+     * contents.
+     */
+    private void paintBuffered(Graphics g, GraphicsConfiguration graphicsConfiguration) {
+        do {
+            if (mBackBuffer == null
+                    || mBackBuffer.getWidth() != getWidth()
+                    || mBackBuffer.getHeight() != getHeight()
+                    || mBackBuffer.validate(graphicsConfiguration) == VolatileImage.IMAGE_INCOMPATIBLE) {
+                if (mBackBuffer != null) {
+                    mBackBuffer.flush();
+                }
+                mBackBuffer = graphicsConfiguration.createCompatibleVolatileImage(getWidth(), getHeight(), Transparency.TRANSLUCENT);
+                mBackBuffer.validate(graphicsConfiguration);
+            }
+
+            var clip = g.getClipBounds();
+            if (clip == null) {
+                clip = new Rectangle(0, 0, getWidth(), getHeight());
             }
-        }
 
-        return stopped;
+            var g2 = mBackBuffer.createGraphics();
+            g2.setClip(clip);
+            g2.setComposite(AlphaComposite.Clear);
+            g2.fillRect(clip.x, clip.y, clip.width, clip.height);
+            g2.setComposite(AlphaComposite.SrcOver);
+            paintFrame(g2);
+            g2.dispose();
+
+            g.drawImage(mBackBuffer, 0, 0, this);
+        } while (mBackBuffer.contentsLost());
     }
 
     private void paintDice() {
         for (var die : mDiceBoard.getDice()) {
-            if (die.isVisible()) {
+            var bounds = die.getBounds();
+            if (!bounds.isEmpty() && mG2.hitClip(bounds.x, bounds.y, bounds.width, bounds.height)) {
                 mG2.drawImage(die.getImage(), die.getX(), die.getY(), this);
+                if (die.isHinted()) {
+                    paintHint(die);
+                }
             }
         }
     }
 
+    private void paintFrame(Graphics g) {
+        mG2 = (Graphics2D) g;
+        var originalAffineTransform = mG2.getTransform();
+
+        if (mDiceBoard.getHandedness() == Handedness.RIGHT) {
+            var affineTransform = mG2.getTransform();
+            affineTransform.scale(-1, 1);
+            affineTransform.translate(-getWidth(), 0);
+            mG2.setTransform(affineTransform);
+        }
+
+        paintDiceRoller();
+        paintDice();
+        //paintGrid();
+
+        mG2.setTransform(originalAffineTransform);
+    }
+
     private void paintDiceRoller() {
         mDiceRoller = mDiceBoard.getDiceRoller();
 
@@ -189,7 +259,30 @@ class Painter extends JPanel {
             return;
         }
 
-        mG2.drawImage(mDiceRoller.getImage(), mDiceRoller.getX(), mDiceRoller.getY(), this);
+        var bounds = mDiceRoller.getBounds();
+        if (mG2.hitClip(bounds.x, bounds.y, bounds.width, bounds.height)) {
+            mG2.drawImage(mDiceRoller.getImage(), mDiceRoller.getX(), mDiceRoller.getY(), this);
+        }
+    }
+
+    private void paintHint(Die die) {
+        var image = die.getImage();
+        var stroke = mG2.getStroke();
+        var antialiasing = mG2.getRenderingHint(RenderingHints.KEY_ANTIALIASING);
+
+        mG2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        mG2.setColor(HINT_COLOR);
+        mG2.setStroke(HINT_STROKE);
+        mG2.drawRoundRect(die.getX() - HINT_MARGIN,
+                die.getY() - HINT_MARGIN,
+                image.getWidth() + 2 * HINT_MARGIN,
+                image.getHeight() + 2 * HINT_MARGIN,
+                image.getWidth() / 4,
+                image.getHeight() / 4);
+        mG2.setStroke(stroke);
+        if (antialiasing != null) {
+            mG2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, antialiasing);
+        }
     }
 
     private void paintGrid() {
@@ -233,6 +326,10 @@ class Painter extends JPanel {
 
         @Override
         public void mousePressed(MouseEvent e) {
+            if (!mDiceBoard.isInputEnabled()) {
+                return;
+            }
+
             var point = translateMousePoint(e.getPoint());
             int x = point.x;
 
@@ -266,11 +363,14 @@ class Painter extends JPanel {
 
         @Override
         public void mouseReleased(MouseEvent e) {
+            if (!mDiceBoard.isInputEnabled()) {
+                return;
+            }
+
             var point = translateMousePoint(e.getPoint());
             int x = point.x;
 
-            if (mDiceRoller.getShakeThread().isAlive()) {
-                mDiceRoller.getShakeThread().interrupt();
+            if (mDiceRoller.isShaking()) {
                 mDiceRoller.shake(false);
                 var r = isRollable();
                 if (x <= mDiceRoller.getImage().getWidth() && isRollable()) {
@@ -15,10 +15,12 @@
  */
 package se.trixon.yaya.dice;
 
-import java.awt.image.AffineTransformOp;
+import java.awt.Rectangle;
 import java.awt.image.BufferedImage;
 import java.util.Random;
+import java.util.WeakHashMap;
 import se.trixon.almond.util.GraphicsHelper;
+import se.trixon.yaya.ImageManager;
 import se.trixon.yaya.dice.data.image.DiceImage;
 
 /**
@@ -27,31 +29,38 @@ import se.trixon.yaya.dice.data.image.DiceImage;
  */
 class Roller {
 
+    private static final int NUM_OF_SHAKE_ANGLES = 9;
+    private static final double SHAKE_THETA = 0.03;
+    private final Animator mAnimator;
     private BufferedImage mBufferedImage;
+    private final WeakHashMap<BufferedImage, BufferedImage> mFlippedImages = new WeakHashMap<>();
     private final DiceBoard mDiceBoard;
     private final Random mRandom;
-    private Thread mReleaseThread;
-    private Thread mShakeThread;
-    private Thread mSlideThread;
+    private Animation mReleaseAnimation;
+    private Animation mShakeAnimation;
+    private final WeakHashMap<BufferedImage, BufferedImage[]> mShakenImages = new WeakHashMap<>();
+    private Animation mSlideAnimation;
     private boolean mVisible;
     private int mX;
     private int mY;
 
     Roller(DiceBoard diceBoard) {
-        mSlideThread = new Thread();
-        mShakeThread = new Thread();
-        mReleaseThread = new Thread();
         mRandom = new Random();
         mDiceBoard = diceBoard;
+        mAnimator = diceBoard.getAnimator();
         init();
     }
 
-    BufferedImage getImage() {
-        return GraphicsHelper.flipBufferedImageX(mBufferedImage);
+    /**
+     *
+     * @return the area the roller is drawn in
+     */
+    Rectangle getBounds() {
+        return new Rectangle(mX, mY, mBufferedImage.getWidth(), mBufferedImage.getHeight());
     }
 
-    Thread getShakeThread() {
-        return mShakeThread;
+    BufferedImage getImage() {
+        return mBufferedImage;
     }
 
     int getX() {
@@ -62,44 +71,74 @@ class Roller {
         return mY;
     }
 
+    boolean isShaking() {
+        return mAnimator.isRunning(mShakeAnimation);
+    }
+
     boolean isVisible() {
         return mVisible;
     }
 
     void roll() {
-        mReleaseThread = new Thread(new ReleaseRunner());
-        mReleaseThread.start();
+        mAnimator.cancel(mReleaseAnimation);
+        mReleaseAnimation = Animation.delay(250);
+        mAnimator.start(mReleaseAnimation, this::slideOut);
     }
 
     void setImage(int rollCount) {
         int variant = mRandom.nextInt(2) + 1;
         rollCount = Math.min(rollCount, 6);
-        mBufferedImage = DiceImage.get(String.format("hand/closed/%02d_%02d.png", rollCount, variant));
+        var image = DiceImage.get(String.format("hand/closed/%02d_%02d.png", rollCount, variant));
+        mBufferedImage = mFlippedImages.computeIfAbsent(image, k -> ImageManager.getInstance().toCompatibleImage(GraphicsHelper.flipBufferedImageX(k)));
     }
 
     void shake(boolean state) {
         mVisible = true;
         if (state) {
-            mSlideThread.interrupt();
-            mShakeThread = new Thread(new ShakeRunner());
-            mShakeThread.start();
+            mAnimator.cancel(mSlideAnimation);
+            mAnimator.cancel(mShakeAnimation);
+            mShakeAnimation = new ShakeAnimation();
+            mAnimator.start(mShakeAnimation);
         } else {
-            mShakeThread.interrupt();
+            mAnimator.cancel(mShakeAnimation);
         }
     }
 
     void slideIn() {
-        mSlideThread.interrupt();
-        mShakeThread.interrupt();
-        mSlideThread = new Thread(new SlideInRunner());
-        mSlideThread.start();
+        mAnimator.cancel(mSlideAnimation);
+        mAnimator.cancel(mShakeAnimation);
+        mSlideAnimation = new SlideInAnimation();
+        mAnimator.start(mSlideAnimation, () -> mVisible = true);
     }
 
     void slideOut() {
-        mSlideThread.interrupt();
-        mShakeThread.interrupt();
-        mSlideThread = new Thread(new SlideOutRunner());
-        mSlideThread.start();
+        mAnimator.cancel(mSlideAnimation);
+        mAnimator.cancel(mShakeAnimation);
+        mSlideAnimation = new SlideOutAnimation();
+        mAnimator.start(mSlideAnimation, () -> mVisible = false);
+    }
+
+    /**
+     * Renders the roller tilted to a few angles, once per image.
+     *
+     * @param image
+     * @return the tilted images, from the leftmost to the rightmost angle
+     */
+    private BufferedImage[] getShakenImages(BufferedImage image) {
+        return mShakenImages.computeIfAbsent(image, k -> {
+            var imageManager = ImageManager.getInstance();
+            var images = new BufferedImage[NUM_OF_SHAKE_ANGLES];
+            for (int i = 0; i < NUM_OF_SHAKE_ANGLES; i++) {
+                var shakenImage = imageManager.createImage(k.getWidth(), k.getHeight(), k.getTransparency());
+                var g2 = shakenImage.createGraphics();
+                g2.rotate(-SHAKE_THETA + 2 * SHAKE_THETA * i / (NUM_OF_SHAKE_ANGLES - 1));
+                g2.drawImage(k, 0, 0, null);
+                g2.dispose();
+                images[i] = shakenImage;
+            }
+
+            return images;
+        });
     }
 
     private void init() {
@@ -108,90 +147,81 @@ class Roller {
         mY = Painter.MARGIN_Y_ROLLER;
     }
 
-    class ReleaseRunner implements Runnable {
+    private class ShakeAnimation extends Animation {
+
+        private final BufferedImage mOriginalBufferedImage = mBufferedImage;
+        private final BufferedImage[] mShakenBufferedImages = getShakenImages(mBufferedImage);
 
         @Override
-        public void run() {
-            try {
-                Thread.sleep(250);
-            } catch (InterruptedException ex) {
-            }
-            slideOut();
+        void cancelled() {
+            mBufferedImage = mOriginalBufferedImage;
         }
-    }
-
-    class ShakeRunner implements Runnable {
 
         @Override
-        public void run() {
-            BufferedImage originalBufferedImage;
-            var originalAffineTransformOp = new AffineTransformOp(mBufferedImage.createGraphics().getTransform(), AffineTransformOp.TYPE_NEAREST_NEIGHBOR);
-            originalBufferedImage = originalAffineTransformOp.filter(mBufferedImage, null);
-
-            while (!Thread.interrupted()) {
-                mX = Painter.MARGIN_X_ROLLER + mRandom.nextInt(10);
-                mY = Painter.MARGIN_Y_ROLLER + mRandom.nextInt(10);
-
-                var affineTransform = mBufferedImage.createGraphics().getTransform();
-                double theta = 0.03;
-                affineTransform.rotate(-theta + 2 * theta * mRandom.nextDouble());
-
-                var affineTransformOp = new AffineTransformOp(affineTransform, AffineTransformOp.TYPE_NEAREST_NEIGHBOR);
-                mBufferedImage = affineTransformOp.filter(mBufferedImage, null);
+        Rectangle getBounds() {
+            return Roller.this.getBounds();
+        }
 
-                mDiceBoard.getPanel().repaint();
+        @Override
+        long step() {
+            mX = Painter.MARGIN_X_ROLLER + mRandom.nextInt(10);
+            mY = Painter.MARGIN_Y_ROLLER + mRandom.nextInt(10);
 
-                try {
-                    Thread.sleep(60);
-                } catch (InterruptedException ex) {
-                    mBufferedImage = originalAffineTransformOp.filter(originalBufferedImage, null);
-                    break;
-                }
+            mBufferedImage = mShakenBufferedImages[mRandom.nextInt(NUM_OF_SHAKE_ANGLES)];
 
-                mBufferedImage = originalAffineTransformOp.filter(originalBufferedImage, null);
-            }
+            return 60;
         }
     }
 
-    class SlideInRunner implements Runnable {
+    private class SlideInAnimation extends Animation {
 
         @Override
-        public void run() {
-            while (!Thread.interrupted() && mX < 0 + Painter.MARGIN_X_ROLLER) {
-                mX += 4 - mX / 5;
+        void cancelled() {
+            mVisible = true;
+        }
 
-                try {
-                    Thread.sleep(30);
-                } catch (InterruptedException ex) {
-                    break;
-                }
+        @Override
+        Rectangle getBounds() {
+            return Roller.this.getBounds();
+        }
 
-                mDiceBoard.getPanel().repaint();
+        @Override
+        long step() {
+            if (mX >= Painter.MARGIN_X_ROLLER) {
+                return DONE;
             }
 
-            mVisible = true;
+            mX += 4 - mX / 5;
+
+            return 30;
         }
     }
 
-    class SlideOutRunner implements Runnable {
+    private class SlideOutAnimation extends Animation {
+
+        private static final double ACCEL = 1.011;
+        private int mStep;
+
+        @Override
+        void cancelled() {
+            mVisible = false;
+        }
+
+        @Override
+        Rectangle getBounds() {
+            return Roller.this.getBounds();
+        }
 
         @Override
-        public void run() {
-            double accel = 1.011;
-            int i = 0;
-
-            while (!Thread.interrupted() && mX >= -mBufferedImage.getWidth()) {
-                mX -= 8 + accel * i;
-                i++;
-                try {
-                    Thread.sleep(30);
-                } catch (InterruptedException ex) {
-                    break;
-                }
-                mDiceBoard.getPanel().repaint();
+        long step() {
+            if (mX < -mBufferedImage.getWidth()) {
+                return DONE;
             }
 
-            mVisible = false;
+            mX -= 8 + ACCEL * mStep;
+            mStep++;
+
+            return 30;
         }
     }
 }
@@ -16,8 +16,8 @@
 package se.trixon.yaya.dice.data.image;
 
 import java.awt.image.BufferedImage;
-import org.openide.util.ImageUtilities;
 import se.trixon.almond.util.SystemHelper;
+import se.trixon.yaya.ImageManager;
 
 /**
  *
@@ -26,6 +26,6 @@ import se.trixon.almond.util.SystemHelper;
 public class DiceImage {
 
     public static BufferedImage get(String imagePath) {
-        return (BufferedImage) ImageUtilities.loadImage(SystemHelper.getPackageAsPath(DiceImage.class) + imagePath);
+        return ImageManager.getInstance().getImage(SystemHelper.getPackageAsPath(DiceImage.class) + imagePath);
     }
 }
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2026 Patrik Karlström <patrik@trixon.se>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package se.trixon.yaya.dice.data.image;
+
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import org.openide.util.RequestProcessor;
+import se.trixon.yaya.ImageManager;
+import se.trixon.yaya.scoring.Hand;
+
+/**
+ * Rotated images of the dice, rendered once.
+ * <p>
+ * The angles are rounded to one of {@link #NUM_OF_ANGLES} steps, so a
+ * rolling die only picks images that are already rendered. The images of
+ * the faces that are rolled are rendered in the background by
+ * {@link #prerender()}, other images when first asked for. The images are
+ * rendered again when the screen configuration changes.
+ *
+ * @author Patrik Karlström <patrik@trixon.se>
+ */
+public class DiceSprites {
+
+    public static final int NUM_OF_ANGLES = 64;
+    public static final int NUM_OF_ROLLED_VARIANTS = 2;
+    private static final String PATH_FORMAT = "dice/0_%02d_%02d.png";
+    private final ConcurrentHashMap<String, AtomicReferenceArray<Sprite>> mPathToSprites = new ConcurrentHashMap<>();
+    private final RequestProcessor mRequestProcessor = new RequestProcessor(getClass().getSimpleName(), 1);
+
+    public static DiceSprites getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     *
+     * @param value
+     * @param variant
+     * @return the path of the image of a die, as used by
+     * {@link DiceImage#get(java.lang.String)}
+     */
+    public static String getPath(int value, int variant) {
+        return PATH_FORMAT.formatted(value, variant);
+    }
+
+    private DiceSprites() {
+        ImageManager.getInstance().addRestoreListener(() -> {
+            mPathToSprites.clear();
+            prerender();
+        });
+    }
+
+    /**
+     *
+     * @param imagePath
+     * @param theta the angle in radians, rounded to the nearest step
+     * @return the image rotated around its center
+     */
+    public Sprite get(String imagePath, double theta) {
+        int angle = Math.floorMod((int) Math.round(theta * NUM_OF_ANGLES / (2 * Math.PI)), NUM_OF_ANGLES);
+        var sprites = mPathToSprites.computeIfAbsent(imagePath, k -> new AtomicReferenceArray<>(NUM_OF_ANGLES));
+        var sprite = sprites.get(angle);
+
+        if (sprite == null) {
+            sprite = render(DiceImage.get(imagePath), angle);
+            sprites.set(angle, sprite);
+        }
+
+        return sprite;
+    }
+
+    /**
+     * Renders the rotated images of the faces that are rolled in the
+     * background.
+     */
+    public void prerender() {
+        mRequestProcessor.post(() -> {
+            for (int variant = 1; variant <= NUM_OF_ROLLED_VARIANTS; variant++) {
+                for (int value = 1; value <= Hand.FACES; value++) {
+                    for (int angle = 0; angle < NUM_OF_ANGLES; angle++) {
+                        get(getPath(value, variant), angle * 2 * Math.PI / NUM_OF_ANGLES);
+                    }
+                }
+            }
+        });
+    }
+
+    private Sprite render(BufferedImage source, int angle) {
+        double theta = angle * 2 * Math.PI / NUM_OF_ANGLES;
+        int sourceWidth = source.getWidth();
+        int sourceHeight = source.getHeight();
+        double sin = Math.abs(Math.sin(theta));
+        double cos = Math.abs(Math.cos(theta));
+        int width = (int) Math.ceil(sourceWidth * cos + sourceHeight * sin);
+        int height = (int) Math.ceil(sourceWidth * sin + sourceHeight * cos);
+
+        var image = ImageManager.getInstance().createImage(width, height, Transparency.TRANSLUCENT);
+        var g2 = image.createGraphics();
+        g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+        g2.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        g2.translate(width / 2.0, height / 2.0);
+        g2.rotate(theta);
+        g2.translate(-sourceWidth / 2.0, -sourceHeight / 2.0);
+        g2.drawImage(source, 0, 0, null);
+        g2.dispose();
+
+        return new Sprite(image, (sourceWidth - width) / 2, (sourceHeight - height) / 2);
+    }
+
+    /**
+     * A rotated image.
+     *
+     * @param image
+     * @param x where to draw the image, relative to the unrotated image
+     * @param y where to draw the image, relative to the unrotated image
+     */
+    public record Sprite(BufferedImage image, int x, int y) {
+
+    }
+
+    private static class Holder {
+
+        private static final DiceSprites INSTANCE = new DiceSprites();
+    }
+}
@@ -0,0 +1,287 @@
+/*
+ * Copyright 2026 Patrik Karlström <patrik@trixon.se>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package se.trixon.yaya.dice.data.sound;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.LineUnavailableException;
+import javax.sound.sampled.SourceDataLine;
+import javax.sound.sampled.UnsupportedAudioFileException;
+import org.openide.util.Exceptions;
+import org.openide.util.RequestProcessor;
+import se.trixon.almond.util.SystemHelper;
+
+/**
+ * Plays the sounds of the dice.
+ * <p>
+ * Every sound is decoded once into samples in the format of the mixer. Any
+ * number of sounds, called voices, are mixed by one thread into one line,
+ * which is opened when the first sound is played and kept open.
+ *
+ * @author Patrik Karlström <patrik@trixon.se>
+ */
+public class SoundMixer {
+
+    private static final int BUFFER_FRAMES = 441;
+    private static final int CHANNELS = 2;
+    private static final AudioFormat FORMAT = new AudioFormat(44100, 16, CHANNELS, true, false);
+    private static final int LINE_BUFFER_FRAMES = 4 * BUFFER_FRAMES;
+    private static final String[] PRELOADED_NAMES = {"dc_%d.au", "dr_1_%02d.au", "dr_2_%02d.au", "dr_3_%02d.au", "ds_%02d.au"};
+    private SourceDataLine mLine;
+    private boolean mLineUnavailable;
+    private final ConcurrentHashMap<String, short[]> mNameToSamples = new ConcurrentHashMap<>();
+    private final LinkedBlockingQueue<Voice> mPendingVoices = new LinkedBlockingQueue<>();
+    private final RequestProcessor mRequestProcessor = new RequestProcessor(getClass().getSimpleName(), 1);
+
+    public static SoundMixer getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    private SoundMixer() {
+    }
+
+    /**
+     *
+     * @param name the file name of the sound
+     * @return the voice that plays the sound once
+     */
+    public Voice play(String name) {
+        return play(name, 1f, 0, false);
+    }
+
+    /**
+     *
+     * @param name the file name of the sound
+     * @param volume from 0 to 1
+     * @param delay the milliseconds before the sound starts
+     * @param loop true to repeat the sound until it is stopped
+     * @return the voice that plays the sound
+     */
+    public Voice play(String name, float volume, int delay, boolean loop) {
+        var voice = new Voice(load(name), volume, toFrames(delay), loop);
+
+        if (voice.mSamples.length > 0 && openLine()) {
+            mPendingVoices.add(voice);
+        }
+
+        return voice;
+    }
+
+    /**
+     * Decodes the bundled sounds in the background.
+     */
+    public void preload() {
+        mRequestProcessor.post(() -> {
+            load("dtf.au");
+            for (var pattern : PRELOADED_NAMES) {
+                for (int i = 0;; i++) {
+                    var name = pattern.formatted(i);
+                    if (getResourcePath(name) != null) {
+                        load(name);
+                    } else if (i > 0) {
+                        break;
+                    }
+                }
+            }
+        });
+    }
+
+    private String getResourcePath(String name) {
+        var path = SystemHelper.getPackageAsPath(SoundMixer.class) + name;
+
+        return SoundMixer.class.getClassLoader().getResource(path) != null ? path : null;
+    }
+
+    private short[] load(String name) {
+        return mNameToSamples.computeIfAbsent(name, k -> {
+            var path = getResourcePath(name);
+            if (path == null) {
+                return new short[0];
+            }
+
+            try (var inputStream = new BufferedInputStream(SoundMixer.class.getClassLoader().getResourceAsStream(path));
+                    var sourceStream = AudioSystem.getAudioInputStream(inputStream);
+                    var audioInputStream = AudioSystem.getAudioInputStream(FORMAT, sourceStream)) {
+                var bytes = audioInputStream.readAllBytes();
+                var samples = new short[bytes.length / 2];
+                ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).asShortBuffer().get(samples);
+
+                return samples;
+            } catch (UnsupportedAudioFileException | IOException | IllegalArgumentException ex) {
+                Exceptions.printStackTrace(ex);
+            }
+
+            return new short[0];
+        });
+    }
+
+    private void mix() {
+        var voices = new ArrayList<Voice>();
+        var mixed = new int[BUFFER_FRAMES * CHANNELS];
+        var buffer = new byte[BUFFER_FRAMES * FORMAT.getFrameSize()];
+
+        while (true) {
+            try {
+                if (voices.isEmpty()) {
+                    voices.add(mPendingVoices.take());
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+
+            mPendingVoices.drainTo(voices);
+            Arrays.fill(mixed, 0);
+            voices.removeIf(voice -> !voice.mix(mixed, BUFFER_FRAMES));
+
+            for (int i = 0; i < mixed.length; i++) {
+                int sample = Math.clamp(mixed[i], Short.MIN_VALUE, Short.MAX_VALUE);
+                buffer[2 * i] = (byte) sample;
+                buffer[2 * i + 1] = (byte) (sample >> 8);
+            }
+
+            mLine.write(buffer, 0, buffer.length);
+        }
+    }
+
+    private synchronized boolean openLine() {
+        if (mLine == null && !mLineUnavailable) {
+            try {
+                mLine = AudioSystem.getSourceDataLine(FORMAT);
+                mLine.open(FORMAT, LINE_BUFFER_FRAMES * FORMAT.getFrameSize());
+                mLine.start();
+
+                var thread = new Thread(this::mix, getClass().getSimpleName());
+                thread.setDaemon(true);
+                thread.setPriority(Thread.MAX_PRIORITY);
+                thread.start();
+            } catch (LineUnavailableException | IllegalArgumentException | SecurityException ex) {
+                mLine = null;
+                mLineUnavailable = true;
+                Exceptions.printStackTrace(ex);
+            }
+        }
+
+        return mLine != null;
+    }
+
+    private static int toFrames(int millis) {
+        return Math.max(0, (int) (FORMAT.getFrameRate() * millis / 1000));
+    }
+
+    /**
+     * A sound that is played by the mixer.
+     */
+    public static class Voice {
+
+        private int mDelayFrames;
+        private int mFadeFrames = -1;
+        private int mFadeFramesLeft;
+        private final boolean mLoop;
+        private int mPosition;
+        private final short[] mSamples;
+        private volatile int mStopFrames = -1;
+        private volatile float mVolume;
+
+        private Voice(short[] samples, float volume, int delayFrames, boolean loop) {
+            mSamples = samples;
+            mVolume = volume;
+            mDelayFrames = delayFrames;
+            mLoop = loop;
+        }
+
+        public float getVolume() {
+            return mVolume;
+        }
+
+        public void setVolume(float volume) {
+            mVolume = volume;
+        }
+
+        /**
+         * Stops the sound right away.
+         */
+        public void stop() {
+            mStopFrames = 0;
+        }
+
+        /**
+         * Fades the sound out.
+         *
+         * @param fadeOut the milliseconds until the sound is silent
+         */
+        public void stop(int fadeOut) {
+            mStopFrames = toFrames(fadeOut);
+        }
+
+        /**
+         * Adds the next frames of the sound to the mixed frames.
+         *
+         * @return false when the sound is done
+         */
+        private boolean mix(int[] mixed, int frames) {
+            int stopFrames = mStopFrames;
+            if (stopFrames == 0 || (stopFrames > 0 && mDelayFrames > 0)) {
+                return false;
+            } else if (stopFrames > 0 && mFadeFrames < 0) {
+                mFadeFrames = stopFrames;
+                mFadeFramesLeft = stopFrames;
+            }
+
+            int frame = Math.min(mDelayFrames, frames);
+            mDelayFrames -= frame;
+            float volume = mVolume;
+            int length = mSamples.length / CHANNELS;
+
+            for (; frame < frames; frame++) {
+                if (mPosition == length) {
+                    if (!mLoop) {
+                        return false;
+                    }
+                    mPosition = 0;
+                }
+
+                float gain = volume;
+                if (mFadeFrames > 0) {
+                    if (mFadeFramesLeft == 0) {
+                        return false;
+                    }
+                    gain *= (float) mFadeFramesLeft-- / mFadeFrames;
+                }
+
+                for (int channel = 0; channel < CHANNELS; channel++) {
+                    mixed[frame * CHANNELS + channel] += (int) (mSamples[mPosition * CHANNELS + channel] * gain);
+                }
+                mPosition++;
+            }
+
+            return true;
+        }
+    }
+
+    private static class Holder {
+
+        private static final SoundMixer INSTANCE = new SoundMixer();
+    }
+}
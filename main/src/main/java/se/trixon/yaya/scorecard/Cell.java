@@ -16,12 +16,16 @@
 package se.trixon.yaya.scorecard;
 
 import java.awt.Color;
+import java.awt.Dimension;
 import java.awt.Font;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import javax.swing.JLabel;
 import javax.swing.SwingConstants;
+import javax.swing.border.Border;
+import javax.swing.border.CompoundBorder;
 import javax.swing.border.EmptyBorder;
+import javax.swing.border.LineBorder;
 import se.trixon.almond.util.GraphicsHelper;
 import se.trixon.yaya.PopupManager;
 import se.trixon.yaya.ThemeManager;
@@ -33,23 +37,25 @@ import se.trixon.yaya.scorecard.rules.GameCell;
  */
 public class Cell {
 
+    private static final int HINT_THICKNESS = 2;
     private final int COLOR_MASK = 0xEEEEEE;
+    private final Border mBorder = new EmptyBorder(2, 10, 2, 10);
     private Color mCurrentBackgroundColor;
     private Color mCurrentForegroundColor;
     private final GameCell mGameCell;
     private boolean mHeader = false;
+    private boolean mHint;
     private final Header mHeaderColumn;
-    private final JLabel mLabel = new JLabel();
-    private MouseAdapter mMouseHoverAdapter;
-    private MouseAdapter mMousePressedAdapter;
-//    private MouseAdapter mMousePopupAdapter;
+    private boolean mIndicatorVisible;
+    private final JLabel mLabel = new CellLabel();
+    private boolean mHoverEnabled;
+    private boolean mInputEnabled;
     private PlayerColumn mPlayerColumn;
     private int mPreview;
-    private boolean mRegistered;
     private final int mRow;
     private final ScoreCard mScoreCard;
+    private int mShownPreview;
     private final ThemeManager mThemeManager = ThemeManager.getInstance();
-    private int mValue;
 
     Cell(ScoreCard scoreCard, PlayerColumn playerColumn, GameCell gameCell, int row) {
         mScoreCard = scoreCard;
@@ -72,7 +78,11 @@ public class Cell {
     }
 
     public void clearPreview() {
+        setHint(false);
+
         if (isPlayable() && !isRegistered()) {
+            mPreview = 0;
+            mShownPreview = 0;
             mLabel.setText("");
             setCurrentBackgroundColor(mThemeManager.getTheme().getBgScoreCell());
             setCurrentForegroundColor(mThemeManager.getTheme().getFgScoreCell());
@@ -82,13 +92,13 @@ public class Cell {
 
     public void enableHover() {
         if (isPlayable() && !isRegistered()) {
-            mLabel.addMouseListener(mMouseHoverAdapter);
+            mHoverEnabled = true;
         }
     }
 
     public void enableInput() {
         if (isPlayable() && !isRegistered()) {
-            mLabel.addMouseListener(mMousePressedAdapter);
+            mInputEnabled = true;
         }
     }
 
@@ -101,7 +111,7 @@ public class Cell {
     }
 
     public int getValue() {
-        return mValue;
+        return mPlayerColumn == null ? 0 : mPlayerColumn.getPlayerState().getScore(mRow);
     }
 
     public boolean isHeader() {
@@ -113,16 +123,15 @@ public class Cell {
     }
 
     public boolean isRegistered() {
-        return mRegistered;
+        return mPlayerColumn != null && mPlayerColumn.getPlayerState().isRegistered(mRow);
     }
 
     public void newGame() {
-        mRegistered = false;
         setCurrentBackgroundColor(mThemeManager.getTheme().getBgScoreCell());
         setCurrentForegroundColor(mThemeManager.getTheme().getFgScoreCell());
         mLabel.setText("");
         mPreview = 0;
-        mValue = 0;
+        mShownPreview = 0;
 
         if (mGameCell.isRollCounter()) {
             mLabel.setText("0");
@@ -139,9 +148,11 @@ public class Cell {
 
     public void setEnabled(boolean aState) {
         var theme = mThemeManager.getTheme();
+        setHint(false);
+        mShownPreview = 0;
 
         if (mGameCell.isPlayable()) {
-            mLabel.setFont(mLabel.getFont().deriveFont(Font.PLAIN));
+            setFontStyle(Font.PLAIN);
             setCurrentBackgroundColor(theme.getBgScoreCell());
             setCurrentForegroundColor(theme.getFgScoreCell());
         }
@@ -155,7 +166,7 @@ public class Cell {
             }
 
             if (mGameCell.isRollCounter()) {
-                mLabel.setFont(mLabel.getFont().deriveFont(Font.BOLD));
+                setFontStyle(Font.BOLD);
             }
 
             enableHover();
@@ -168,51 +179,80 @@ public class Cell {
             }
 
             if (mGameCell.isRollCounter()) {
-                mLabel.setFont(mLabel.getFont().deriveFont(Font.PLAIN));
+                setFontStyle(Font.PLAIN);
             }
 
-            mLabel.removeMouseListener(mMouseHoverAdapter);
-            mLabel.removeMouseListener(mMousePressedAdapter);
+            mHoverEnabled = false;
+            mInputEnabled = false;
         }
     }
 
-    public void setPreview(int preview) {
-        mPreview = preview;
+    /**
+     * Frames the cell as the row to register the dice in, without changing
+     * its size.
+     *
+     * @param hint
+     */
+    public void setHint(boolean hint) {
+        if (hint == mHint) {
+            return;
+        }
+
+        mHint = hint;
+        if (hint) {
+            var insets = mBorder.getBorderInsets(mLabel);
+            mLabel.setBorder(new CompoundBorder(
+                    new LineBorder(mThemeManager.getTheme().getFgIndicatorHi(), HINT_THICKNESS),
+                    new EmptyBorder(insets.top - HINT_THICKNESS, insets.left - HINT_THICKNESS, insets.bottom - HINT_THICKNESS, insets.right - HINT_THICKNESS)
+            ));
+        } else {
+            mLabel.setBorder(mBorder);
+        }
+        mLabel.repaint();
     }
 
-    public void setRegistered(boolean registered) {
-        mRegistered = registered;
+    /**
+     *
+     * @param preview the score of the dice in this row, shown by
+     * {@link #setVisibleIndicator(boolean)} if it has changed
+     */
+    public void setPreview(int preview) {
+        mPreview = preview;
     }
 
     public void setText() {
         String text = "";
 
         if (isPlayable()) {
-            mLabel.setFont(mLabel.getFont().deriveFont(Font.PLAIN));
+            mShownPreview = 0;
+            setFontStyle(Font.PLAIN);
             if (isRegistered()) {
                 mLabel.setHorizontalAlignment(SwingConstants.TRAILING);
-                text = (mValue == 0) ? "0" : Integer.toString(mValue);
+                text = Integer.toString(getValue());
             }
             mLabel.setText(text);
         }
     }
 
-    public void setValue(int value) {
-        mValue = value;
-    }
-
+    /**
+     * Shows or hides the preview, unless that is already done.
+     *
+     * @param visible
+     */
     public void setVisibleIndicator(boolean visible) {
-        if (mPreview == 0 || isRegistered()) {
+        if ((mPreview == mShownPreview && (mPreview == 0 || visible == mIndicatorVisible)) || isRegistered()) {
             return;
         }
 
+        mShownPreview = mPreview;
+        mIndicatorVisible = visible;
         String text = "";
 
         var theme = mThemeManager.getTheme();
 
-        if (visible) {
+        if (visible && mPreview != 0) {
             text = Integer.toString(mPreview);
-            mLabel.setFont(mLabel.getFont().deriveFont(Font.BOLD));
+            setFontStyle(Font.BOLD);
             mLabel.setHorizontalAlignment(SwingConstants.LEADING);
 
             if (mPreview < mGameCell.getLim()) {
@@ -231,6 +271,48 @@ public class Cell {
         setColors();
     }
 
+    /**
+     * Colors the cell by the theme. A shown preview is shown again in the
+     * colors of the theme by the next call to
+     * {@link #setVisibleIndicator(boolean)}.
+     *
+     * @param background
+     * @param foreground
+     */
+    void applyColors(Color background, Color foreground) {
+        mLabel.setBackground(background);
+        mLabel.setForeground(foreground);
+        setCurrentBackgroundColor(background);
+        mShownPreview = 0;
+    }
+
+    void mouseEnteredEvent(MouseEvent evt) {
+        if (mHoverEnabled) {
+            mLabel.setBackground(GraphicsHelper.colorAndMask(mCurrentBackgroundColor, COLOR_MASK));
+            mLabel.setForeground(mCurrentForegroundColor);
+            mHeaderColumn.hoverRowEntered(mRow);
+        }
+    }
+
+    void mouseExitedEvent(MouseEvent evt) {
+        if (mHoverEnabled) {
+            mLabel.setBackground(mCurrentBackgroundColor);
+            mLabel.setForeground(mCurrentForegroundColor);
+            mHeaderColumn.hoverRowExited(mRow);
+        }
+    }
+
+    void mousePressedEvent(MouseEvent evt) {
+        if (mInputEnabled && evt.getButton() == MouseEvent.BUTTON1) {
+            mHeaderColumn.hoverRowExited(mRow);
+
+            mHoverEnabled = false;
+            mInputEnabled = false;
+
+            mScoreCard.register(mRow);
+        }
+    }
+
     private int getRow() {
         return mRow;
     }
@@ -238,13 +320,13 @@ public class Cell {
     private void init() {
         mLabel.setOpaque(true);
         mLabel.setHorizontalAlignment(SwingConstants.TRAILING);
-        mLabel.setBorder(new EmptyBorder(2, 10, 2, 10));
+        mLabel.setBorder(mBorder);
 
         if (mGameCell.isSum() || mGameCell.isBonus()) {
-            mLabel.setFont(mLabel.getFont().deriveFont(Font.BOLD));
+            setFontStyle(Font.BOLD);
         }
 
-        mMouseHoverAdapter = new MouseAdapter() {
+        mLabel.addMouseListener(new MouseAdapter() {
 
             @Override
             public void mouseEntered(MouseEvent evt) {
@@ -255,53 +337,44 @@ public class Cell {
             public void mouseExited(MouseEvent evt) {
                 mouseExitedEvent(evt);
             }
-        };
-
-        mMousePressedAdapter = new MouseAdapter() {
 
             @Override
             public void mousePressed(MouseEvent evt) {
                 mousePressedEvent(evt);
             }
-        };
+        });
 
         mLabel.addMouseListener(PopupManager.getInstance().getMouseAdapter());
 
     }
 
-    private void mouseEnteredEvent(MouseEvent evt) {
-        mLabel.setBackground(GraphicsHelper.colorAndMask(mCurrentBackgroundColor, COLOR_MASK));
-        mLabel.setForeground(mCurrentForegroundColor);
-        mHeaderColumn.hoverRowEntered(mRow);
-    }
-
-    private void mouseExitedEvent(MouseEvent evt) {
+    private void setColors() {
         mLabel.setBackground(mCurrentBackgroundColor);
         mLabel.setForeground(mCurrentForegroundColor);
-        mHeaderColumn.hoverRowExited(mRow);
     }
 
-    private void mousePressedEvent(MouseEvent evt) {
-        if (evt.getButton() == MouseEvent.BUTTON1) {
-            mPlayerColumn.getRowStack().push(mRow);
-            mHeaderColumn.hoverRowExited(mRow);
-
-            mLabel.removeMouseListener(mMouseHoverAdapter);
-            mLabel.removeMouseListener(mMousePressedAdapter);
-
-            register();
-            mPlayerColumn.setText();
-            mScoreCard.register();
+    private void setFontStyle(int style) {
+        var font = mLabel.getFont();
+        if (font.getStyle() != style) {
+            mLabel.setFont(font.deriveFont(style));
         }
     }
 
-    private void register() {
-        mValue = mPreview;
-        mRegistered = true;
-    }
+    /**
+     * A label that only lays out the score card again when its preferred
+     * size has changed, which a new score seldom does.
+     */
+    private static class CellLabel extends JLabel {
 
-    private void setColors() {
-        mLabel.setBackground(mCurrentBackgroundColor);
-        mLabel.setForeground(mCurrentForegroundColor);
+        private Dimension mLaidOutSize;
+
+        @Override
+        public void revalidate() {
+            var size = getPreferredSize();
+            if (!size.equals(mLaidOutSize)) {
+                mLaidOutSize = size;
+                super.revalidate();
+            }
+        }
     }
 }
@@ -83,18 +83,12 @@ public class Header {
         mTitleColumn[row].getLabel().setBackground(color);
         mLimColumn[row].getLabel().setBackground(color);
         mMaxColumn[row].getLabel().setBackground(color);
-
-        mTitleColumn[row].getLabel().getParent().revalidate();
-        mTitleColumn[row].getLabel().getParent().repaint();
     }
 
     void hoverRowExited(int row) {
         mTitleColumn[row].getLabel().setBackground(mTheme.getBgHeaderColumn());
         mLimColumn[row].getLabel().setBackground(mTheme.getBgHeaderColumn());
         mMaxColumn[row].getLabel().setBackground(mTheme.getBgHeaderColumn());
-
-        mTitleColumn[row].getLabel().getParent().revalidate();
-        mTitleColumn[row].getLabel().getParent().repaint();
     }
 
     private void init() {
@@ -15,38 +15,40 @@
  */
 package se.trixon.yaya.scorecard;
 
-import java.util.ArrayList;
 import java.util.Stack;
 import javax.swing.JLabel;
 import javax.swing.SwingConstants;
 import se.trixon.yaya.Options;
 import se.trixon.yaya.Player;
+import se.trixon.yaya.engine.PlayerState;
 import se.trixon.yaya.scorecard.rules.Rule;
 
 /**
+ * The column of a player.
+ * <p>
+ * The state of the player is kept by the game session, so a column only
+ * has a label and cells while it is shown. A column that is materialized
+ * again shows the state of the player from the session.
  *
  * @author Patrik Karlström
  */
 public class PlayerColumn {
 
+    private static final Cell[] NO_ROWS = new Cell[0];
     private boolean mActive;
-    private int mCurrentScore;
-    private final JLabel mLabel = new JLabel("NONAME");
-    private int mNumOfRolls;
+    private JLabel mLabel;
     private final Options mOptions = Options.getInstance();
     private int mPlayOrder;
     private Player mPlayer;
     private final Stack<Integer> mRowStack = new Stack<>();
-    private Cell[] mRows;
+    private Cell[] mRows = NO_ROWS;
     private final Rule mRule;
     private final ScoreCard mScoreCard;
-    private final FormulaParser mFormulaParser = new FormulaParser();
 
     public PlayerColumn(ScoreCard scoreCard, int playOrder, Rule rule) {
         mScoreCard = scoreCard;
         mPlayOrder = playOrder;
         mRule = rule;
-        init();
     }
 
     public void clearPreview() {
@@ -55,14 +57,15 @@ public class PlayerColumn {
         }
     }
 
-    public void decNumOfRolls() {
-        mNumOfRolls--;
-    }
-
     public int getCurrentScore() {
-        return mCurrentScore;
+        return getPlayerState().getTotal();
     }
 
+    /**
+     *
+     * @return the label with the name of the player, null if the column is
+     * not materialized
+     */
     public JLabel getLabel() {
         return mLabel;
     }
@@ -72,7 +75,7 @@ public class PlayerColumn {
     }
 
     public int getNumOfRolls() {
-        return mNumOfRolls;
+        return getPlayerState().getNumOfRolls();
     }
 
     public int getPlayOrder() {
@@ -83,20 +86,28 @@ public class PlayerColumn {
         return mPlayer;
     }
 
+    public PlayerState getPlayerState() {
+        return mScoreCard.getGameSession().getPlayerState(mPlayOrder);
+    }
+
     public Stack<Integer> getRowStack() {
         return mRowStack;
     }
 
+    /**
+     *
+     * @return the cells of the column, none if the column is not
+     * materialized
+     */
     public Cell[] getRows() {
         return mRows;
     }
 
-    public void incNumOfRolls() {
-        mNumOfRolls++;
+    public boolean isMaterialized() {
+        return mLabel != null;
     }
 
     public void newGame() {
-        mNumOfRolls = 0;
         mRowStack.clear();
         setEnabled(false);
 
@@ -107,8 +118,11 @@ public class PlayerColumn {
         setRollCounterLabel();
     }
 
-    public void parse(ArrayList<Integer> diceValues) {
-        for (var row : mRows) {
+    public void parse(long hand) {
+        var scores = mRule.getScoringEngine().score(hand);
+
+        for (int i = 0; i < mRows.length; i++) {
+            var row = mRows[i];
             var gameCell = row.getGameCell();
 
             if (gameCell.isRollCounter()) {
@@ -118,25 +132,27 @@ public class PlayerColumn {
                     rolls += " (" + mScoreCard.getNumOfRolls() + "/" + maxRolls + ")";
                 }
                 row.getLabel().setText(rolls);
-                row.getLabel().revalidate();
-                row.getLabel().repaint();
             }
 
-            if (!gameCell.getFormula().isEmpty() && !row.isRegistered()) {
-                row.setPreview(mFormulaParser.parseFormula(diceValues, gameCell));
+            if (gameCell.getScoreFormula() != null && !row.isRegistered()) {
+                row.setPreview(scores[i]);
+            }
+            if (!mPlayer.isBot()) {
+                row.enableInput();
             }
-            row.enableInput();
         }
     }
 
-    public void register() {
+    public void register(int row) {
+        mRowStack.push(row);
         updateSums();
+        setText();
         setEnabled(false);
     }
 
     public void setEnabled(boolean aState) {
         mActive = aState;
-        String text = (mNumOfRolls == 0) ? "0" : Integer.toString(mNumOfRolls);
+        String text = Integer.toString(getNumOfRolls());
         //TODO Implement variants
         for (var row : mRows) {
             row.setEnabled(aState);
@@ -146,8 +162,14 @@ public class PlayerColumn {
         }
     }
 
-    public void setNumOfRolls(int numOfRolls) {
-        mNumOfRolls = numOfRolls;
+    /**
+     *
+     * @param row the row to frame as the hint, -1 for none
+     */
+    public void setHint(int row) {
+        for (int i = 0; i < mRows.length; i++) {
+            mRows[i].setHint(i == row);
+        }
     }
 
     public void setPlayOrder(int playOrder) {
@@ -156,7 +178,9 @@ public class PlayerColumn {
 
     public void setPlayer(Player player) {
         mPlayer = player;
-        mLabel.setText(mPlayer.getName());
+        if (isMaterialized()) {
+            mLabel.setText(mPlayer.getName());
+        }
     }
 
     public void setText() {
@@ -173,10 +197,9 @@ public class PlayerColumn {
 
     public void undo() {
         int undoRow = mRowStack.pop();
-        mRows[undoRow].setRegistered(false);
-        mRows[undoRow].setValue(0);
-        mRows[undoRow].getLabel().setText("");
-        decNumOfRolls();
+        if (isMaterialized()) {
+            mRows[undoRow].getLabel().setText("");
+        }
         updateSums();
         setEnabled(true);
 
@@ -185,7 +208,16 @@ public class PlayerColumn {
         }
     }
 
-    private void init() {
+    /**
+     * Creates the label and the cells of the column. They show the state of
+     * the player after {@link #refresh()}.
+     */
+    void materialize() {
+        if (isMaterialized()) {
+            return;
+        }
+
+        mLabel = new JLabel(mPlayer == null ? "NONAME" : mPlayer.getName());
         var rowsRule = mRule.getGameColumn();
         mRows = new Cell[rowsRule.size()];
         var d = mLabel.getPreferredSize();
@@ -204,6 +236,28 @@ public class PlayerColumn {
         }
     }
 
+    /**
+     * Shows the state of the player in the cells.
+     */
+    void refresh() {
+        for (var row : mRows) {
+            row.newGame();
+        }
+
+        setEnabled(mActive);
+        setText();
+        updateSums();
+    }
+
+    /**
+     * Drops the label and the cells of the column, which is no longer
+     * shown.
+     */
+    void release() {
+        mLabel = null;
+        mRows = NO_ROWS;
+    }
+
     private void setRollCounterLabel() {
         if (mActive) {
         } else {
@@ -211,38 +265,18 @@ public class PlayerColumn {
     }
 
     private void updateSums() {
-        for (var row : mRows) {
-            var gameCell = row.getGameCell();
-            if (gameCell.getSumSet() != null && gameCell.isSum()) {
-                if (gameCell.isBonus()) {
-                    int sum = 0;
+        var playerState = getPlayerState();
 
-                    for (var rowValue : gameCell.getSumSet()) {
-                        sum += mRows[rowValue].getValue();
-                    }
-
-                    if (sum >= gameCell.getLim()) {
-                        int bonus = gameCell.getMax();
-                        row.getLabel().setText(Integer.toString(bonus));
-                        row.setValue(bonus);
-                    }
-                }
-
-                if (gameCell.isSum()) {
-                    int sum = 0;
-
-                    for (var rowValue : gameCell.getSumSet()) {
-                        sum += mRows[rowValue].getValue();
-                    }
-
-                    if (gameCell.isResult()) {
-                        row.setValue(sum);
-                        mCurrentScore = sum;
-                    }
+        for (int i = 0; i < mRows.length; i++) {
+            var gameCell = mRows[i].getGameCell();
+            if (gameCell.getSumSet() != null && gameCell.isSum()) {
+                int score = playerState.getScore(i);
+                var label = mRows[i].getLabel();
 
-                    if (!gameCell.isBonus()) {
-                        row.getLabel().setText(Integer.toString(sum));
-                    }
+                if (gameCell.isBonus()) {
+                    label.setText(score > 0 ? Integer.toString(score) : "");
+                } else {
+                    label.setText(Integer.toString(score));
                 }
             }
         }
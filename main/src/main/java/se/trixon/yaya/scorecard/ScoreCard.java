@@ -18,46 +18,63 @@ package se.trixon.yaya.scorecard;
 import java.awt.BorderLayout;
 import java.awt.Container;
 import java.awt.Dimension;
+import java.awt.FlowLayout;
 import java.awt.GridBagConstraints;
 import java.awt.GridBagLayout;
 import java.awt.Insets;
 import java.awt.event.ActionEvent;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
 import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
 import javax.swing.AbstractAction;
 import javax.swing.BorderFactory;
 import javax.swing.JButton;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
+import javax.swing.JScrollBar;
 import javax.swing.SwingConstants;
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
 import org.apache.commons.lang3.StringUtils;
-import se.trixon.almond.util.CircularInt;
 import se.trixon.almond.util.Dict;
 import se.trixon.almond.util.GlobalState;
 import se.trixon.almond.util.icons.material.swing.MaterialIcon;
-import se.trixon.almond.util.swing.SwingHelper;
 import se.trixon.yaya.GameOverDialog;
 import se.trixon.yaya.GameOverItem;
 import se.trixon.yaya.Options;
 import se.trixon.yaya.ThemeManager;
+import se.trixon.yaya.engine.GameSession;
 import se.trixon.yaya.scorecard.rules.Rule;
 import se.trixon.yaya.scorecard.rules.RuleManager;
 import se.trixon.yaya.themes.Theme;
 
 /**
+ * The score card of a game.
+ * <p>
+ * Only the columns of the players that fit the width of the score card are
+ * shown. If not all of them fit, the column of the active player is pinned
+ * next to the header and the others are scrolled. The columns that are not
+ * shown have no labels, so the size of a table grows with the width of the
+ * window rather than with the number of players.
  *
  * @author Patrik Karlström
  */
 public class ScoreCard {
 
-    private int mActivePlayer;
-    private CircularInt mCurrentPlayer;
+    private static final Insets CELL_INSETS = new Insets(1, 1, 0, 0);
+    private static final int DEFAULT_NUM_OF_SHOWN_COLUMNS = 8;
+    private static final long GAME_OVER_HIDE_MILLIS = 200;
+    private static final long GAME_OVER_SHOW_MILLIS = 400;
+    private static final int HEADER_COLUMNS = 3;
+    private final JPanel mBorderPanel = new JPanel(new BorderLayout());
     private final JPanel mFillerPanel = new JPanel();
     private final GameOverDialog mGameOverDialog = GameOverDialog.getInstance();
+    private final GameSession mGameSession;
     private JLabel mGameTitleLabel;
     private final GlobalState mGlobalState;
     private Header mHeader;
     private final int mNumOfPlayers;
-    private int mNumOfRolls;
     private int mNumOfRows;
     private final Options mOptions = Options.getInstance();
     private final JPanel mPanel = new JPanel();
@@ -65,34 +82,50 @@ public class ScoreCard {
     private ArrayList<PlayerColumn> mPlayerPositions;
     private boolean mRegisterable;
     private final Rule mRule;
+    private AbstractAction mRedoAction;
+    private JButton mRedoButton;
     private final RuleManager mRuleManager = RuleManager.getInstance();
     private final JPanel mScoreCardPanel = new JPanel();
+    private ScoreCardView mScoreCardView;
+    private final JScrollBar mScrollBar = new JScrollBar(JScrollBar.HORIZONTAL);
+    private final ArrayList<PlayerColumn> mShownColumns = new ArrayList<>();
     private boolean mShowIndicators;
     private Theme mTheme;
     private final ThemeManager mThemeManager = ThemeManager.getInstance();
     private AbstractAction mUndoAction;
     private JButton mUndoButton;
     private JPanel mUndoPanel;
+    private GridBagConstraints mUndoPanelConstraints;
+    private boolean mUpdatingShownColumns;
 
-    public ScoreCard(GlobalState globalState) {
+    public ScoreCard(GlobalState globalState, GameSession gameSession) {
         mGlobalState = globalState;
-        mNumOfPlayers = mOptions.getNumOfPlayers();
+        mGameSession = gameSession;
+        mNumOfPlayers = gameSession.getNumOfPlayers();
         mRule = mRuleManager.getRule(mOptions.getRuleId());
         init();
     }
 
+    public GameSession getGameSession() {
+        return mGameSession;
+    }
+
     public Header getHeader() {
         return mHeader;
     }
 
     public int getNumOfRolls() {
-        return mNumOfRolls;
+        return mGameSession.getTurnState().getNumOfRolls();
     }
 
     public JPanel getPanel() {
         return mPanel;
     }
 
+    public AbstractAction getRedoAction() {
+        return mRedoAction;
+    }
+
     public AbstractAction getUndoAction() {
         return mUndoAction;
     }
@@ -107,88 +140,106 @@ public class ScoreCard {
 
     public void newGame() {
         mRegisterable = false;
-        mUndoAction.setEnabled(false);
-        mActivePlayer = 0;
-        mNumOfRolls = 0;
-        mCurrentPlayer = new CircularInt(0, mNumOfPlayers - 1);
-
-        int i = 0;
+        mGameSession.newGame();
+        setEnabledUndo(false);
 
-        for (var playerColumn : mPlayerColumns) {
+        var players = mOptions.getPlayers();
+        for (int i = 0; i < mNumOfPlayers; i++) {
+            var playerColumn = mPlayerColumns.get(i);
             playerColumn.newGame();
-            playerColumn.setPlayer(mOptions.getPlayers()[i]);
-            i++;
+            playerColumn.setPlayer(players[i]);
         }
 
         getActivePlayerColumn().setEnabled(true);
+        updateShownColumns();
     }
 
+    /**
+     * Prepares for a roll of the active player. The previews are kept until
+     * the dice are parsed, so that only the cells that change are updated.
+     */
     public void newRoll() {
-        getActivePlayerColumn().clearPreview();
-        mScoreCardPanel.revalidate();
-        mScoreCardPanel.repaint();
+        setEnabledRegister(false);
+        getActivePlayerColumn().setHint(-1);
     }
 
-    public void parseDice(ArrayList<Integer> diceValues) {
+    public void parseDice(long hand) {
         setEnabledRegister(true);
-        mNumOfRolls++;
-        getActivePlayerColumn().incNumOfRolls();
-        getActivePlayerColumn().parse(diceValues);
+        getActivePlayerColumn().parse(hand);
         getActivePlayerColumn().setVisibleIndicators(mOptions.isShowIndicators());
-        mScoreCardPanel.revalidate();
-        mScoreCardPanel.repaint();
     }
 
     public void setEnabledRegister(boolean enabled) {
         mRegisterable = enabled;
     }
 
+    /**
+     *
+     * @param enabled enables undo and redo as far as the game history allows
+     */
     public void setEnabledUndo(boolean enabled) {
-        mUndoAction.setEnabled(enabled);
+        mUndoAction.setEnabled(enabled && mGameSession.canUndo());
+        mRedoAction.setEnabled(enabled && mGameSession.canRedo());
+    }
+
+    /**
+     *
+     * @param row the row of the active player to frame as the hint, -1 for
+     * none
+     */
+    public void setHint(int row) {
+        getActivePlayerColumn().setHint(row);
     }
 
     public void setVisibleIndicators(boolean visible) {
         mShowIndicators = visible;
         getActivePlayerColumn().setVisibleIndicators(visible);
-        mScoreCardPanel.repaint();
-        mScoreCardPanel.revalidate();
+    }
+
+    public void redo() {
+        if (mRedoAction.isEnabled()) {
+            actionPerformedRedo();
+        }
+    }
+
+    /**
+     * Registers the dice of the active player in a row, like a click in a
+     * cell does.
+     *
+     * @param row
+     */
+    public void register(int row) {
+        if (mRegisterable && mGameSession.canRegister(row)) {
+            var playerColumn = getActivePlayerColumn();
+            mGameSession.register(row);
+            postRegister(playerColumn, row);
+        }
     }
 
     public void undo() {
         if (mUndoAction.isEnabled()) {
-            mUndoAction.setEnabled(false);
             actionPerformedUndo();
         }
     }
 
-    void register() {
-        if (mRegisterable) {
-            mRegisterable = false;
-            mNumOfRolls = 0;
-            getActivePlayerColumn().register();
-
-            updatePolePosition();
-
-            if (isGameOver()) {
-                mGlobalState.put(ScoreCardEvent.class.getName(), ScoreCardEvent.GAME_OVER);
-                gameOver();
-            } else {
-                mUndoAction.setEnabled(true);
-                mGlobalState.put(ScoreCardEvent.class.getName(), ScoreCardEvent.REGISTER);
-
-                mActivePlayer = mCurrentPlayer.inc();
-                getActivePlayerColumn().setEnabled(true);
-            }
-        }
+    private void actionPerformedRedo() {
+        var playerColumn = getActivePlayerColumn();
+        playerColumn.clearPreview();
+        postRegister(playerColumn, mGameSession.redo());
     }
 
     private void actionPerformedUndo() {
         mRegisterable = true;
-        getActivePlayerColumn().setEnabled(false);
-        mActivePlayer = mCurrentPlayer.dec();
-        getActivePlayerColumn().undo();
+        do {
+            getActivePlayerColumn().setEnabled(false);
+            mGameSession.undo();
+            getActivePlayerColumn().undo();
+        } while (getActivePlayerColumn().getPlayer().isBot() && mGameSession.canUndo());
+        setEnabledUndo(true);
+        updateShownColumns();
 
         mGlobalState.put(ScoreCardEvent.class.getName(), ScoreCardEvent.UNDO);
+        parseDice(mGameSession.getTurnState().getHand());
     }
 
     private void applyColors() {
@@ -197,6 +248,10 @@ public class ScoreCard {
         mPanel.setOpaque(mTheme.isOpaqueWindow());
         mScoreCardPanel.setOpaque(mTheme.isOpaqueScorecard());
         mScoreCardPanel.setBackground(mTheme.getBgScorecard());
+        if (mScoreCardView != null) {
+            mScoreCardView.setOpaque(mScoreCardPanel.isOpaque());
+            mScoreCardView.setBackground(mScoreCardPanel.getBackground());
+        }
         mPanel.setBackground(mTheme.getBgWindow());
         mUndoPanel.setBackground(mTheme.getBgHeaderRow());
         mGameTitleLabel.setForeground(mTheme.getFgHeaderRow());
@@ -205,23 +260,8 @@ public class ScoreCard {
         applyUndoButtonStyle();
         mHeader.applyColors();
 
-        for (int i = 0; i < mPlayerColumns.size(); i++) {
-            var playerLabel = mPlayerColumns.get(i).getLabel();
-            playerLabel.setBackground(mTheme.getBgHeaderRow());
-            playerLabel.setForeground(mTheme.getFgHeaderRow());
-
-            for (int j = 0; j < mNumOfRows; j++) {
-                var row = mPlayerColumns.get(i).getRows()[j];
-                var gameRow = row.getGameCell();
-                boolean sum = gameRow.isSum() || gameRow.isBonus();
-                var colorBG = sum ? mTheme.getBgHeaderSum() : mTheme.getBgScoreCell();
-                var colorFG = sum ? mTheme.getFgHeaderSum() : mTheme.getFgScoreCell();
-
-                var label = row.getLabel();
-                label.setBackground(colorBG);
-                label.setForeground(colorFG);
-                row.setCurrentBackgroundColor(colorBG);
-            }
+        for (var playerColumn : mShownColumns) {
+            applyColors(playerColumn);
         }
 
         setVisibleIndicators(mOptions.isShowIndicators());
@@ -230,16 +270,39 @@ public class ScoreCard {
         mPanel.repaint();
     }
 
+    private void applyColors(PlayerColumn playerColumn) {
+        var playerLabel = playerColumn.getLabel();
+        playerLabel.setBackground(mTheme.getBgHeaderRow());
+        playerLabel.setForeground(mTheme.getFgHeaderRow());
+
+        for (var row : playerColumn.getRows()) {
+            var gameRow = row.getGameCell();
+            boolean sum = gameRow.isSum() || gameRow.isBonus();
+            var colorBG = sum ? mTheme.getBgHeaderSum() : mTheme.getBgScoreCell();
+            var colorFG = sum ? mTheme.getFgHeaderSum() : mTheme.getFgScoreCell();
+
+            row.applyColors(colorBG, colorFG);
+        }
+    }
+
+    /**
+     * Applies the font size to the score card, and to the labels of the
+     * painted score card, which are not part of it.
+     */
+    private void applyFontSize() {
+        float size = mOptions.getScaledFontSize();
+        applyFontSize(mPanel, size);
+        if (mScoreCardPanel.getParent() == null) {
+            applyFontSize(mScoreCardPanel, size);
+        }
+        updateShownColumns();
+    }
+
     private void applyFontSize(Container container, float size) {
         for (var component : container.getComponents()) {
             switch (component) {
-                case JLabel label -> {
-                    label.setFont(label.getFont().deriveFont(size));
-                    var d = label.getPreferredSize();
-                    d.height = (int) (size * 1.2);
-                    d.width = 1;
-                    label.setMinimumSize(d);
-                }
+                case JLabel label ->
+                    applyFontSize(label, size);
                 case Container subContainer ->
                     applyFontSize(subContainer, size);
                 default -> {
@@ -248,52 +311,105 @@ public class ScoreCard {
         }
     }
 
+    private void applyFontSize(JLabel label, float size) {
+        label.setFont(label.getFont().deriveFont(size));
+        var d = label.getPreferredSize();
+        d.height = (int) (size * 1.2);
+        d.width = 1;
+        label.setMinimumSize(d);
+    }
+
     private void applyUndoButtonStyle() {
         var imageIcon = MaterialIcon._Content.UNDO.getImageIcon(mOptions.getScaledFontSize(), mTheme.getIconUndo());
         mUndoButton.setIcon(imageIcon);
+        mRedoButton.setIcon(MaterialIcon._Content.REDO.getImageIcon(mOptions.getScaledFontSize(), mTheme.getIconUndo()));
     }
 
+    /**
+     * Hides the registered cells of the shown columns in the order they were
+     * registered and then shows them again, before the result is displayed.
+     */
     private void gameOver() {
-        int stackSize = mPlayerColumns.get(0).getRowStack().size();
-        int cellCount = stackSize * mPlayerColumns.size();
-        long totalTime = 200L;
-        long cellDelay = totalTime / cellCount;
-
-        new Thread(() -> {
-            for (int i = 0; i < stackSize; i++) {
-                var ii = i;
-                for (var playerColumn : mPlayerColumns) {
-                    SwingHelper.runAndWait((long) (cellDelay * 1), () -> {
-                        playerColumn.getRows()[playerColumn.getRowStack().get(ii)].getLabel().setVisible(false);
-                        mScoreCardPanel.revalidate();
-                        mScoreCardPanel.repaint();
-                    });
-                }
+        var labels = new ArrayList<JLabel>();
+        int stackSize = mShownColumns.get(0).getRowStack().size();
+        for (int i = 0; i < stackSize; i++) {
+            for (var playerColumn : mShownColumns) {
+                labels.add(playerColumn.getRows()[playerColumn.getRowStack().get(i)].getLabel());
             }
+        }
+
+        long start = System.nanoTime();
+        var timer = new Timer(1000 / 60, null);
+        timer.addActionListener(event -> {
+            long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            int numOfCells = labels.size();
+            int hidden = (int) Math.min(numOfCells, numOfCells * elapsed / GAME_OVER_HIDE_MILLIS);
+            int shown = (int) Math.clamp(numOfCells * (elapsed - GAME_OVER_HIDE_MILLIS) / GAME_OVER_SHOW_MILLIS, 0, numOfCells);
+
+            for (int i = 0; i < numOfCells; i++) {
+                labels.get(i).setVisible(i < shown || i >= hidden);
+            }
+            mScoreCardPanel.revalidate();
+            mScoreCardPanel.repaint();
 
-            for (int i = 0; i < stackSize; i++) {
-                var ii = i;
+            if (shown == numOfCells) {
+                timer.stop();
+
+                var gameOverItems = new ArrayList<GameOverItem>();
                 for (var playerColumn : mPlayerColumns) {
-                    SwingHelper.runAndWait((long) (cellDelay * 2), () -> {
-                        playerColumn.getRows()[playerColumn.getRowStack().get(ii)].getLabel().setVisible(true);
-                        mScoreCardPanel.revalidate();
-                        mScoreCardPanel.repaint();
-                    });
+                    var gameOverItem = new GameOverItem(playerColumn.getPlayer(), playerColumn.getCurrentScore());
+                    gameOverItems.add(gameOverItem);
                 }
+
+                SwingUtilities.invokeLater(() -> mGameOverDialog.display(gameOverItems));
             }
+        });
+        timer.start();
+    }
+
+    private PlayerColumn getActivePlayerColumn() {
+        return mPlayerColumns.get(mGameSession.getActivePlayer());
+    }
 
-            var gameOverItems = new ArrayList<GameOverItem>();
-            for (var playerColumn : mPlayerColumns) {
-                var gameOverItem = new GameOverItem(playerColumn.getPlayer(), playerColumn.getCurrentScore());
-                gameOverItems.add(gameOverItem);
+    /**
+     *
+     * @return the width of the header columns, or of the undo panel above
+     * them if it is wider
+     */
+    private int getHeaderWidth() {
+        int width = 0;
+        for (var column : new Cell[][]{mHeader.getTitleColumn(), mHeader.getLimColumn(), mHeader.getMaxColumn()}) {
+            int columnWidth = 0;
+            for (var cell : column) {
+                columnWidth = Math.max(columnWidth, cell.getLabel().getPreferredSize().width);
             }
+            width += columnWidth;
+        }
 
-            mGameOverDialog.display(gameOverItems);
-        }).start();
+        return Math.max(width, mUndoPanel.getPreferredSize().width);
     }
 
-    private PlayerColumn getActivePlayerColumn() {
-        return mPlayerColumns.get(mActivePlayer);
+    /**
+     *
+     * @return the number of player columns that fit the width of the score
+     * card, as wide as the widest shown column
+     */
+    private int getNumOfFittingColumns() {
+        if (mPanel.getWidth() == 0 || mShownColumns.isEmpty()) {
+            return Math.min(mNumOfPlayers, DEFAULT_NUM_OF_SHOWN_COLUMNS);
+        }
+
+        var insets = mPanel.getInsets();
+        int width = mPanel.getWidth() - insets.left - insets.right - 2 * ((FlowLayout) mPanel.getLayout()).getHgap();
+        int columnWidth = 1;
+        for (var playerColumn : mShownColumns) {
+            columnWidth = Math.max(columnWidth, playerColumn.getLabel().getPreferredSize().width);
+            for (var row : playerColumn.getRows()) {
+                columnWidth = Math.max(columnWidth, row.getLabel().getPreferredSize().width + CELL_INSETS.left);
+            }
+        }
+
+        return Math.max(2, (width - getHeaderWidth()) / columnWidth);
     }
 
     private void init() {
@@ -301,21 +417,28 @@ public class ScoreCard {
         mHeader = new Header(this, mRule);
         initActions();
         mNumOfRows = mRule.getGameColumn().size();
+        for (int i = 0; i < mNumOfPlayers; i++) {
+            mPlayerColumns.add(new PlayerColumn(this, i, mRule));
+        }
 
         initLayout();
+        updateShownColumns();
+        setPainted(mOptions.isPaintedScorecard());
         applyColors();
-        applyFontSize(mPanel, mOptions.getScaledFontSize());
+        applyFontSize();
 
-        mOptions.getPreferences().addPreferenceChangeListener(pce -> {
+        mOptions.getPreferences().addPreferenceChangeListener(pce -> SwingUtilities.invokeLater(() -> {
             if (pce.getKey().equalsIgnoreCase(Options.KEY_SHOW_INDICATORS)) {
                 setVisibleIndicators(mOptions.isShowIndicators());
             } else if (StringUtils.equalsAny(pce.getKey(), Options.KEY_THEME)) {
                 applyColors();
             } else if (pce.getKey().equalsIgnoreCase(Options.KEY_FONT_SIZE)) {
-                applyFontSize(mPanel, mOptions.getScaledFontSize());
+                applyFontSize();
                 applyUndoButtonStyle();
+            } else if (pce.getKey().equalsIgnoreCase(Options.KEY_PAINTED_SCORECARD)) {
+                setPainted(mOptions.isPaintedScorecard());
             }
-        });
+        }));
     }
 
     private void initActions() {
@@ -323,16 +446,29 @@ public class ScoreCard {
 
             @Override
             public void actionPerformed(ActionEvent evt) {
-                mUndoAction.setEnabled(false);
                 actionPerformedUndo();
             }
         };
 
+        mRedoAction = new AbstractAction("") {
+
+            @Override
+            public void actionPerformed(ActionEvent evt) {
+                actionPerformedRedo();
+            }
+        };
+
         mUndoAction.setEnabled(false);
         mUndoButton = new JButton(mUndoAction);
         mUndoButton.setBorderPainted(false);
         mUndoButton.setContentAreaFilled(false);
         mUndoButton.setToolTipText(Dict.UNDO.toString());
+
+        mRedoAction.setEnabled(false);
+        mRedoButton = new JButton(mRedoAction);
+        mRedoButton.setBorderPainted(false);
+        mRedoButton.setContentAreaFilled(false);
+        mRedoButton.setToolTipText(Dict.REDO.toString());
     }
 
     private void initLayout() {
@@ -340,23 +476,37 @@ public class ScoreCard {
 
         mFillerPanel.setOpaque(true);
         mFillerPanel.setPreferredSize(new Dimension(1, 1000));
-        var borderPanel = new JPanel(new BorderLayout());
-        borderPanel.setOpaque(false);
-        borderPanel.add(mScoreCardPanel, BorderLayout.CENTER);
-        borderPanel.add(mFillerPanel, BorderLayout.SOUTH);
-        mPanel.add(borderPanel);
+        mScrollBar.setVisible(false);
+        mScrollBar.addAdjustmentListener(event -> updateShownColumns());
+        var southPanel = new JPanel(new BorderLayout());
+        southPanel.setOpaque(false);
+        southPanel.add(mScrollBar, BorderLayout.NORTH);
+        southPanel.add(mFillerPanel, BorderLayout.CENTER);
+        mBorderPanel.setOpaque(false);
+        mBorderPanel.add(mScoreCardPanel, BorderLayout.CENTER);
+        mBorderPanel.add(southPanel, BorderLayout.SOUTH);
+        mBorderPanel.addMouseWheelListener(event -> {
+            if (mScrollBar.isVisible()) {
+                mScrollBar.setValue(mScrollBar.getValue() + event.getWheelRotation());
+            }
+        });
+        mPanel.add(mBorderPanel);
+        mPanel.addComponentListener(new ComponentAdapter() {
+            @Override
+            public void componentResized(ComponentEvent e) {
+                updateShownColumns();
+            }
+        });
 
         var layout = new GridBagLayout();
         mScoreCardPanel.setLayout(layout);
 
         var constraints = new GridBagConstraints();
         var headerInsets = new Insets(1, 0, 0, 0);
-        var zeroInsets = new Insets(0, 0, 0, 0);
-        var cellInsets = new Insets(1, 1, 0, 0);
         constraints.gridx = 0;
         constraints.gridy = 0;
         constraints.anchor = GridBagConstraints.LINE_START;
-        constraints.gridwidth = 3;
+        constraints.gridwidth = HEADER_COLUMNS;
         constraints.fill = GridBagConstraints.BOTH;
 
         mUndoPanel = new JPanel(new BorderLayout());
@@ -366,7 +516,9 @@ public class ScoreCard {
 
         mUndoPanel.add(mUndoButton, BorderLayout.WEST);
         mUndoPanel.add(mGameTitleLabel, BorderLayout.CENTER);
+        mUndoPanel.add(mRedoButton, BorderLayout.EAST);
 
+        mUndoPanelConstraints = (GridBagConstraints) constraints.clone();
         layout.setConstraints(mUndoPanel, constraints);
         mScoreCardPanel.add(mUndoPanel);
 
@@ -395,52 +547,101 @@ public class ScoreCard {
             layout.setConstraints(maxLabel, constraints);
             mScoreCardPanel.add(maxLabel);
         }
+    }
 
-        int startGridX = 3;
-
-        constraints = new GridBagConstraints();
-        for (int i = 0; i < mNumOfPlayers; i++) {
-            mPlayerColumns.add(new PlayerColumn(this, i, mRule));
-            Cell[] column = mPlayerColumns.get(i).getRows();
+    /**
+     * Adds the labels of the shown columns to the grid, next to the header.
+     */
+    private void layoutShownColumns() {
+        var constraints = new GridBagConstraints();
+        constraints.anchor = GridBagConstraints.LINE_START;
+        constraints.fill = GridBagConstraints.BOTH;
 
-            constraints.gridx = startGridX + i;
-            constraints.anchor = GridBagConstraints.LINE_START;
-            constraints.fill = GridBagConstraints.BOTH;
+        for (int i = 0; i < mShownColumns.size(); i++) {
+            var playerColumn = mShownColumns.get(i);
+            constraints.gridx = HEADER_COLUMNS + i;
             constraints.gridy = 0;
-            constraints.insets = zeroInsets;
-
-            var playerLabel = mPlayerColumns.get(i).getLabel();
-            layout.setConstraints(playerLabel, constraints);
-            mScoreCardPanel.add(playerLabel);
+            constraints.insets = new Insets(0, 0, 0, 0);
+            mScoreCardPanel.add(playerColumn.getLabel(), constraints);
 
-            constraints.insets = cellInsets;
-            for (int j = 0; j < mNumOfRows; j++) {
+            constraints.insets = CELL_INSETS;
+            var rows = playerColumn.getRows();
+            for (int j = 0; j < rows.length; j++) {
                 constraints.gridy = j + 1;
-                var label = column[j].getLabel();
-                layout.setConstraints(label, constraints);
-                mScoreCardPanel.add(label);
+                mScoreCardPanel.add(rows[j].getLabel(), constraints);
             }
         }
     }
 
-    private boolean isGameOver() {
-        boolean gameOver;
-        if (mActivePlayer == mNumOfPlayers - 1) {
-            gameOver = true;
+    /**
+     * Creates the labels of a column that is about to be shown, styled like
+     * the rest of the score card.
+     *
+     * @param playerColumn
+     */
+    private void materialize(PlayerColumn playerColumn) {
+        playerColumn.materialize();
+
+        if (mTheme != null) {
+            applyColors(playerColumn);
+        }
+
+        float size = mOptions.getScaledFontSize();
+        applyFontSize(playerColumn.getLabel(), size);
+        for (var row : playerColumn.getRows()) {
+            applyFontSize(row.getLabel(), size);
+        }
+
+        playerColumn.refresh();
+    }
+
+    private void postRegister(PlayerColumn playerColumn, int row) {
+        mRegisterable = false;
+        playerColumn.register(row);
 
-            for (int i = 0; i < mPlayerColumns.get(mNumOfPlayers - 1).getRows().length; i++) {
-                var scoreCardRow = mPlayerColumns.get(mNumOfPlayers - 1).getRows()[i];
+        updatePolePosition();
 
-                if (scoreCardRow.isPlayable() && !scoreCardRow.isRegistered()) {
-                    gameOver = false;
-                    break;
-                }
+        if (mGameSession.isGameOver()) {
+            setEnabledUndo(false);
+            mGlobalState.put(ScoreCardEvent.class.getName(), ScoreCardEvent.GAME_OVER);
+            gameOver();
+        } else {
+            setEnabledUndo(true);
+            mGlobalState.put(ScoreCardEvent.class.getName(), ScoreCardEvent.REGISTER);
+
+            getActivePlayerColumn().setEnabled(true);
+            updateShownColumns();
+        }
+    }
+
+    /**
+     * Shows the cells as labels in a grid, or painted by a
+     * {@link ScoreCardView} from the same labels.
+     *
+     * @param painted
+     */
+    private void setPainted(boolean painted) {
+        if (painted == (mScoreCardPanel.getParent() == null)) {
+            return;
+        }
+
+        if (painted) {
+            if (mScoreCardView == null) {
+                mScoreCardView = new ScoreCardView(mHeader, mShownColumns, mNumOfRows);
             }
+            mScoreCardView.setOpaque(mScoreCardPanel.isOpaque());
+            mScoreCardView.setBackground(mScoreCardPanel.getBackground());
+            mScoreCardView.add(mUndoPanel);
+            mBorderPanel.remove(mScoreCardPanel);
+            mBorderPanel.add(mScoreCardView, BorderLayout.CENTER);
         } else {
-            gameOver = false;
+            mScoreCardPanel.add(mUndoPanel, mUndoPanelConstraints);
+            mBorderPanel.remove(mScoreCardView);
+            mBorderPanel.add(mScoreCardPanel, BorderLayout.CENTER);
         }
 
-        return gameOver;
+        mBorderPanel.revalidate();
+        mBorderPanel.repaint();
     }
 
     private void updatePolePosition() {
@@ -457,4 +658,68 @@ public class ScoreCard {
 //            reducer += 1.0;
 //        }
     }
+
+    /**
+     * Shows the columns of the players that fit, and creates and drops the
+     * labels of the columns that are shown and hidden.
+     */
+    private void updateShownColumns() {
+        if (mUpdatingShownColumns) {
+            return;
+        }
+
+        mUpdatingShownColumns = true;
+        try {
+            var columns = new ArrayList<PlayerColumn>();
+            int numOfFittingColumns = getNumOfFittingColumns();
+
+            if (numOfFittingColumns >= mNumOfPlayers) {
+                columns.addAll(mPlayerColumns);
+            } else {
+                int activePlayer = mGameSession.getActivePlayer();
+                int numOfOthers = mNumOfPlayers - 1;
+                int extent = numOfFittingColumns - 1;
+                mScrollBar.setValues(Math.clamp(mScrollBar.getValue(), 0, numOfOthers - extent), extent, 0, numOfOthers);
+                mScrollBar.setBlockIncrement(extent);
+
+                columns.add(mPlayerColumns.get(activePlayer));
+                for (int i = mScrollBar.getValue(); i < mScrollBar.getValue() + extent; i++) {
+                    columns.add(mPlayerColumns.get(i < activePlayer ? i : i + 1));
+                }
+            }
+            mScrollBar.setVisible(numOfFittingColumns < mNumOfPlayers);
+
+            if (columns.equals(mShownColumns)) {
+                return;
+            }
+
+            for (var playerColumn : mShownColumns) {
+                mScoreCardPanel.remove(playerColumn.getLabel());
+                for (var row : playerColumn.getRows()) {
+                    mScoreCardPanel.remove(row.getLabel());
+                }
+                if (!columns.contains(playerColumn)) {
+                    playerColumn.release();
+                }
+            }
+
+            for (var playerColumn : columns) {
+                if (!playerColumn.isMaterialized()) {
+                    materialize(playerColumn);
+                }
+            }
+
+            mShownColumns.clear();
+            mShownColumns.addAll(columns);
+            layoutShownColumns();
+            if (mScoreCardView != null) {
+                mScoreCardView.setPlayerColumns(mShownColumns);
+            }
+
+            mScoreCardPanel.revalidate();
+            mScoreCardPanel.repaint();
+        } finally {
+            mUpdatingShownColumns = false;
+        }
+    }
 }
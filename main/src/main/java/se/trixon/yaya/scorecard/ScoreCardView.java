@@ -0,0 +1,534 @@
+/*
+ * Copyright 2026 Patrik Karlström <patrik@trixon.se>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package se.trixon.yaya.scorecard;
+
+import java.awt.Dimension;
+import java.awt.Font;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Insets;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.Toolkit;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.font.TextLayout;
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.swing.JComponent;
+import javax.swing.JLabel;
+import javax.swing.SwingConstants;
+import se.trixon.yaya.PopupManager;
+
+/**
+ * A score card that paints its cells itself.
+ * <p>
+ * The labels of the cells are still the model of what is shown, but they
+ * are never laid out or painted. A changed label repaints its cell. The
+ * grid is only measured again for the column and the row of a label whose
+ * text, font or border changed. Every text is shaped once per font, and
+ * only the cells within the clip are painted. Hover and clicks are passed
+ * on to the cell under the mouse. The player columns are replaced when
+ * other players are shown.
+ * <p>
+ * The first row of the three header columns is left to a component, like
+ * the undo panel, that is added to the view.
+ *
+ * @author Patrik Karlström <patrik@trixon.se>
+ */
+class ScoreCardView extends JComponent {
+
+    private static final int HEADER_COLUMNS = 3;
+    private static final Insets NO_INSETS = new Insets(0, 0, 0, 0);
+    private Cell[][] mCells;
+    private int[] mColumnWidths;
+    private int[] mColumnX;
+    private final HashMap<Font, HashMap<String, TextLayout>> mFontToTextLayouts = new HashMap<>();
+    private final Cell[][] mHeaderCells;
+    private Cell mHoveredCell;
+    private final ComponentAdapter mLabelComponentListener = new ComponentAdapter() {
+        @Override
+        public void componentHidden(ComponentEvent e) {
+            labelResized((JLabel) e.getComponent());
+        }
+
+        @Override
+        public void componentShown(ComponentEvent e) {
+            labelResized((JLabel) e.getComponent());
+        }
+    };
+    private final PropertyChangeListener mLabelListener = this::labelChanged;
+    private final IdentityHashMap<JLabel, Point> mLabelToPosition = new IdentityHashMap<>();
+    private JLabel[][] mLabels;
+    private final int[] mRowHeights;
+    private int[] mRowY;
+
+    /**
+     *
+     * @param header
+     * @param playerColumns the materialized columns to show
+     * @param numOfRows the number of rows below the names of the players
+     */
+    ScoreCardView(Header header, List<PlayerColumn> playerColumns, int numOfRows) {
+        mHeaderCells = new Cell[][]{header.getTitleColumn(), header.getLimColumn(), header.getMaxColumn()};
+        mRowHeights = new int[numOfRows + 1];
+
+        init();
+        setPlayerColumns(playerColumns);
+    }
+
+    @Override
+    public void doLayout() {
+        var headerComponent = getHeaderComponent();
+        if (headerComponent != null) {
+            updateOffsets();
+            headerComponent.setBounds(0, 0, mColumnX[HEADER_COLUMNS], mRowY[1]);
+        }
+    }
+
+    @Override
+    public Dimension getPreferredSize() {
+        if (isPreferredSizeSet()) {
+            return super.getPreferredSize();
+        }
+
+        updateOffsets();
+
+        return new Dimension(mColumnX[mColumnX.length - 1], mRowY[mRowY.length - 1]);
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        if (mColumnX == null) {
+            updateOffsets();
+        }
+
+        var g2 = (Graphics2D) g;
+        var clip = g.getClipBounds();
+        if (clip == null) {
+            clip = new Rectangle(getWidth(), getHeight());
+        }
+
+        if (isOpaque()) {
+            g2.setColor(getBackground());
+            g2.fill(clip);
+        }
+
+        var hints = (Map<?, ?>) Toolkit.getDefaultToolkit().getDesktopProperty("awt.font.desktophints");
+        if (hints != null) {
+            g2.addRenderingHints(hints);
+        }
+
+        int lastColumn = indexOf(mColumnX, clip.x + clip.width - 1);
+        int lastRow = indexOf(mRowY, clip.y + clip.height - 1);
+        for (int column = indexOf(mColumnX, clip.x); column <= lastColumn; column++) {
+            for (int row = indexOf(mRowY, clip.y); row <= lastRow; row++) {
+                paintCell(g2, column, row);
+            }
+        }
+    }
+
+    /**
+     * Shows other player columns. Only the new columns are listened to, and
+     * the grid is measured again.
+     *
+     * @param playerColumns the materialized columns to show
+     */
+    void setPlayerColumns(List<PlayerColumn> playerColumns) {
+        setHoveredCell(null, null);
+
+        if (mLabels != null) {
+            for (int column = HEADER_COLUMNS; column < mLabels.length; column++) {
+                for (var label : mLabels[column]) {
+                    if (label != null) {
+                        mLabelToPosition.remove(label);
+                        label.removePropertyChangeListener(mLabelListener);
+                        label.removeComponentListener(mLabelComponentListener);
+                    }
+                }
+            }
+        }
+
+        int numOfRows = mRowHeights.length - 1;
+        int numOfColumns = HEADER_COLUMNS + playerColumns.size();
+        mCells = new Cell[numOfColumns][numOfRows + 1];
+        mLabels = new JLabel[numOfColumns][numOfRows + 1];
+        mColumnWidths = new int[numOfColumns];
+        mColumnX = null;
+        mRowY = null;
+
+        for (int column = 0; column < numOfColumns; column++) {
+            Cell[] cells;
+            if (column < HEADER_COLUMNS) {
+                cells = mHeaderCells[column];
+            } else {
+                var playerColumn = playerColumns.get(column - HEADER_COLUMNS);
+                mLabels[column][0] = playerColumn.getLabel();
+                cells = playerColumn.getRows();
+            }
+
+            for (int row = 0; row < numOfRows; row++) {
+                mCells[column][row + 1] = cells[row];
+                mLabels[column][row + 1] = cells[row].getLabel();
+            }
+        }
+
+        for (int column = 0; column < numOfColumns; column++) {
+            for (int row = 0; row <= numOfRows; row++) {
+                var label = mLabels[column][row];
+                if (label != null && !mLabelToPosition.containsKey(label)) {
+                    label.addPropertyChangeListener(mLabelListener);
+                    label.addComponentListener(mLabelComponentListener);
+                }
+                if (label != null) {
+                    mLabelToPosition.put(label, new Point(column, row));
+                }
+            }
+        }
+
+        for (int column = 0; column < numOfColumns; column++) {
+            mColumnWidths[column] = measureColumn(column);
+        }
+
+        for (int row = 0; row <= numOfRows; row++) {
+            mRowHeights[row] = measureRow(row);
+        }
+
+        revalidate();
+        repaint();
+    }
+
+    private Rectangle getCellBounds(int column, int row) {
+        int left = row > 0 && column >= HEADER_COLUMNS ? 1 : 0;
+        int top = row > 0 ? 1 : 0;
+
+        return new Rectangle(
+                mColumnX[column] + left,
+                mRowY[row] + top,
+                mColumnX[column + 1] - mColumnX[column] - left,
+                mRowY[row + 1] - mRowY[row] - top);
+    }
+
+    private Cell getCellAt(Point point) {
+        if (mColumnX == null) {
+            updateOffsets();
+        }
+
+        if (point.x < 0 || point.y < 0 || point.x >= mColumnX[mColumnX.length - 1] || point.y >= mRowY[mRowY.length - 1]) {
+            return null;
+        }
+
+        int column = indexOf(mColumnX, point.x);
+        int row = indexOf(mRowY, point.y);
+        var label = mLabels[column][row];
+
+        return label != null && label.isVisible() && getCellBounds(column, row).contains(point) ? mCells[column][row] : null;
+    }
+
+    private JComponent getHeaderComponent() {
+        return getComponentCount() > 0 ? (JComponent) getComponent(0) : null;
+    }
+
+    private Insets getBorderInsets(JLabel label) {
+        var border = label.getBorder();
+
+        return border == null ? NO_INSETS : border.getBorderInsets(label);
+    }
+
+    /**
+     *
+     * @param font
+     * @param text
+     * @return the shaped text, or null if there is no text
+     */
+    private TextLayout getTextLayout(Font font, String text) {
+        if (text == null || text.isEmpty()) {
+            return null;
+        }
+
+        return mFontToTextLayouts
+                .computeIfAbsent(font, k -> new HashMap<>())
+                .computeIfAbsent(text, k -> new TextLayout(text, font, getFontMetrics(font).getFontRenderContext()));
+    }
+
+    /**
+     *
+     * @param offsets
+     * @param position
+     * @return the index of the column or row that contains the position
+     */
+    private int indexOf(int[] offsets, int position) {
+        int index = Arrays.binarySearch(offsets, position);
+        if (index < 0) {
+            index = -index - 2;
+        } else {
+            while (index < offsets.length - 1 && offsets[index + 1] == position) {
+                index++;
+            }
+        }
+
+        return Math.clamp(index, 0, offsets.length - 2);
+    }
+
+    private void init() {
+        setLayout(null);
+
+        var mouseAdapter = new MouseAdapter() {
+            @Override
+            public void mouseExited(MouseEvent e) {
+                setHoveredCell(null, e);
+            }
+
+            @Override
+            public void mouseMoved(MouseEvent e) {
+                setHoveredCell(getCellAt(e.getPoint()), e);
+            }
+
+            @Override
+            public void mousePressed(MouseEvent e) {
+                var cell = getCellAt(e.getPoint());
+                if (cell != null) {
+                    cell.mousePressedEvent(e);
+                }
+            }
+        };
+
+        addMouseListener(mouseAdapter);
+        addMouseMotionListener(mouseAdapter);
+        addMouseListener(PopupManager.getInstance().getMouseAdapter());
+    }
+
+    private void labelChanged(PropertyChangeEvent evt) {
+        var label = (JLabel) evt.getSource();
+
+        switch (evt.getPropertyName()) {
+            case "font" -> {
+                if (evt.getOldValue() instanceof Font oldFont && evt.getNewValue() instanceof Font newFont
+                        && oldFont.getSize2D() != newFont.getSize2D()) {
+                    mFontToTextLayouts.clear();
+                }
+                labelResized(label);
+            }
+
+            case "text", "border", "icon", "preferredSize" ->
+                labelResized(label);
+
+            case "background", "foreground", "horizontalAlignment", "opaque" ->
+                repaintLabel(label);
+
+            default -> {
+            }
+        }
+    }
+
+    /**
+     * Measures the column and the row of a label again, and lays out the
+     * grid again only if either has changed.
+     */
+    private void labelResized(JLabel label) {
+        var position = mLabelToPosition.get(label);
+        int width = measureColumn(position.x);
+        int height = measureRow(position.y);
+
+        if (width == mColumnWidths[position.x] && height == mRowHeights[position.y]) {
+            repaintLabel(label);
+        } else {
+            mColumnWidths[position.x] = width;
+            mRowHeights[position.y] = height;
+            updateOffsets();
+            revalidate();
+            repaint();
+        }
+    }
+
+    /**
+     *
+     * @return the width of the column, with the insets of its cells
+     */
+    private int measureColumn(int column) {
+        int width = 0;
+        for (int row = 0; row < mLabels[column].length; row++) {
+            var size = measureLabel(mLabels[column][row]);
+            if (size != null) {
+                width = Math.max(width, size.width + (row > 0 && column >= HEADER_COLUMNS ? 1 : 0));
+            }
+        }
+
+        return width;
+    }
+
+    /**
+     *
+     * @param label
+     * @return the preferred size of a visible label, null for none
+     */
+    private Dimension measureLabel(JLabel label) {
+        if (label == null || !label.isVisible()) {
+            return null;
+        } else if (label.isPreferredSizeSet()) {
+            return label.getPreferredSize();
+        }
+
+        var insets = getBorderInsets(label);
+        var font = label.getFont();
+        var textLayout = getTextLayout(font, label.getText());
+        int textWidth = textLayout == null ? 0 : (int) Math.ceil(textLayout.getAdvance());
+
+        return new Dimension(
+                insets.left + textWidth + insets.right,
+                insets.top + getFontMetrics(font).getHeight() + insets.bottom);
+    }
+
+    /**
+     *
+     * @return the height of the row, with the insets of its cells
+     */
+    private int measureRow(int row) {
+        int height = 0;
+        for (var labels : mLabels) {
+            var size = measureLabel(labels[row]);
+            if (size != null) {
+                height = Math.max(height, size.height + (row > 0 ? 1 : 0));
+            }
+        }
+
+        return height;
+    }
+
+    private void paintCell(Graphics2D g2, int column, int row) {
+        var label = mLabels[column][row];
+        if (label == null || !label.isVisible()) {
+            return;
+        }
+
+        var bounds = getCellBounds(column, row);
+        if (bounds.isEmpty()) {
+            return;
+        }
+
+        if (label.isOpaque()) {
+            g2.setColor(label.getBackground());
+            g2.fill(bounds);
+        }
+
+        var border = label.getBorder();
+        if (border != null) {
+            border.paintBorder(label, g2, bounds.x, bounds.y, bounds.width, bounds.height);
+        }
+
+        var font = label.getFont();
+        var textLayout = getTextLayout(font, label.getText());
+        if (textLayout == null) {
+            return;
+        }
+
+        var insets = getBorderInsets(label);
+        var fontMetrics = getFontMetrics(font);
+        int innerX = bounds.x + insets.left;
+        int innerWidth = bounds.width - insets.left - insets.right;
+        int textWidth = (int) Math.ceil(textLayout.getAdvance());
+        boolean leftToRight = label.getComponentOrientation().isLeftToRight();
+
+        int x = switch (label.getHorizontalAlignment()) {
+            case SwingConstants.LEFT ->
+                innerX;
+            case SwingConstants.RIGHT ->
+                innerX + innerWidth - textWidth;
+            case SwingConstants.LEADING ->
+                leftToRight ? innerX : innerX + innerWidth - textWidth;
+            case SwingConstants.TRAILING ->
+                leftToRight ? innerX + innerWidth - textWidth : innerX;
+            default ->
+                innerX + (innerWidth - textWidth) / 2;
+        };
+        int y = bounds.y + insets.top + (bounds.height - insets.top - insets.bottom - fontMetrics.getHeight()) / 2 + fontMetrics.getAscent();
+
+        g2.setColor(label.getForeground());
+        if (textWidth > innerWidth) {
+            var clip = g2.getClip();
+            g2.clipRect(innerX, bounds.y, innerWidth, bounds.height);
+            textLayout.draw(g2, x, y);
+            g2.setClip(clip);
+        } else {
+            textLayout.draw(g2, x, y);
+        }
+    }
+
+    private void repaintLabel(JLabel label) {
+        if (mColumnX == null) {
+            updateOffsets();
+        }
+
+        var position = mLabelToPosition.get(label);
+        repaint(getCellBounds(position.x, position.y));
+    }
+
+    private void setHoveredCell(Cell cell, MouseEvent e) {
+        if (cell != mHoveredCell) {
+            if (mHoveredCell != null) {
+                mHoveredCell.mouseExitedEvent(e);
+            }
+
+            mHoveredCell = cell;
+
+            if (cell != null) {
+                cell.mouseEnteredEvent(e);
+            }
+        }
+    }
+
+    /**
+     * Sums the widths and heights into the offsets of the columns and rows.
+     * The first column is widened if the header component needs more room
+     * than the header columns.
+     */
+    private void updateOffsets() {
+        if (mColumnX == null) {
+            mColumnX = new int[mColumnWidths.length + 1];
+            mRowY = new int[mRowHeights.length + 1];
+        }
+
+        var headerComponent = getHeaderComponent();
+        var headerSize = headerComponent == null ? new Dimension() : headerComponent.getPreferredSize();
+        int headerColumnsWidth = 0;
+        for (int column = 0; column < HEADER_COLUMNS; column++) {
+            headerColumnsWidth += mColumnWidths[column];
+        }
+
+        for (int column = 0; column < mColumnWidths.length; column++) {
+            int width = mColumnWidths[column];
+            if (column == 0) {
+                width += Math.max(0, headerSize.width - headerColumnsWidth);
+            }
+            mColumnX[column + 1] = mColumnX[column] + width;
+        }
+
+        for (int row = 0; row < mRowHeights.length; row++) {
+            int height = mRowHeights[row];
+            if (row == 0) {
+                height = Math.max(height, headerSize.height);
+            }
+            mRowY[row + 1] = mRowY[row] + height;
+        }
+    }
+}
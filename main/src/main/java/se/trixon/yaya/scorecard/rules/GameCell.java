@@ -20,6 +20,10 @@ import java.util.HashMap;
 import java.util.TreeSet;
 import se.trixon.almond.util.StringHelper;
 import se.trixon.yaya.Yaya;
+import se.trixon.yaya.engine.GameRules;
+import se.trixon.yaya.engine.GameRules.RowType;
+import se.trixon.yaya.scoring.FormulaParser;
+import se.trixon.yaya.scoring.ScoreFormula;
 
 /**
  *
@@ -45,6 +49,7 @@ public class GameCell {
     private boolean mResult;
     @SerializedName("isRollCounter")
     private boolean mRollCounter;
+    private transient ScoreFormula mScoreFormula;
     @SerializedName("section")
     private GameSection mSection;
     @SerializedName("isSum")
@@ -78,6 +83,10 @@ public class GameCell {
         return mMax;
     }
 
+    public ScoreFormula getScoreFormula() {
+        return mScoreFormula;
+    }
+
     public GameSection getSection() {
         return mSection;
     }
@@ -119,6 +128,8 @@ public class GameCell {
             mFormula = "";
         }
 
+        mScoreFormula = mFormula.isBlank() ? null : FormulaParser.parse(mFormula, mLim, mMax);
+
         if (getSumRows() != null) {
             setSumSet(getSumRows());
         }
@@ -180,4 +191,34 @@ public class GameCell {
         mTitle = title;
     }
 
+    /**
+     *
+     * @return the row for the game engine
+     * @throws IllegalStateException if the row is not flagged as playable, a
+     * roll counter, a bonus, a result or a sum
+     */
+    public GameRules.Row toGameRulesRow() throws IllegalStateException {
+        RowType type;
+        if (mRollCounter) {
+            type = RowType.ROLL_COUNTER;
+        } else if (mBonus) {
+            type = RowType.BONUS;
+        } else if (mResult) {
+            type = RowType.RESULT;
+        } else if (mSum) {
+            type = RowType.SUM;
+        } else if (mPlayable) {
+            type = RowType.PLAYABLE;
+        } else {
+            throw new IllegalStateException("Row %s is not playable, a roll counter, a bonus, a result or a sum".formatted(mTitle));
+        }
+
+        int[] sumRows = null;
+        if (mSum && mSumSet != null) {
+            sumRows = mSumSet.stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        return new GameRules.Row(type, mScoreFormula, mLim, mMax, sumRows);
+    }
+
 }
@@ -20,6 +20,8 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import se.trixon.yaya.Yaya;
+import se.trixon.yaya.engine.GameRules;
+import se.trixon.yaya.scoring.ScoringEngine;
 
 /**
  *
@@ -44,6 +46,7 @@ public class Rule {
     @SerializedName("rolls")
     private int mNumOfRolls;
     private int mResultRow;
+    private transient GameRules mGameRules;
     @SerializedName("title")
     private String mTitle;
     private int mTotalScore;
@@ -65,6 +68,14 @@ public class Rule {
         return mDefaultVariant;
     }
 
+    /**
+     *
+     * @return the rule as used by the game engine
+     */
+    public GameRules getGameRules() {
+        return mGameRules;
+    }
+
     public GameColumn getGameColumn() {
         return mGameColumn;
     }
@@ -115,6 +126,14 @@ public class Rule {
         return mResultRow;
     }
 
+    /**
+     *
+     * @return the compiled scoring of this rule, shared by all users
+     */
+    public ScoringEngine getScoringEngine() {
+        return mGameRules.getScoringEngine();
+    }
+
     public String getTitle() {
         return mLocals.getOrDefault("title" + Yaya.getLanguageSuffix(), mTitle);
     }
@@ -146,10 +165,12 @@ public class Rule {
     public void postLoad() {
         mTotalScore = 0;
         mResultRow = -1;
+        var rows = new ArrayList<GameRules.Row>();
 
         for (int i = 0; i < mGameColumn.size(); i++) {
             var row = mGameColumn.get(i);
             row.postLoad();
+            rows.add(row.toGameRulesRow());
 
             if (row.isRollCounter()) {
                 int max = (int) (getNumOfRolls() * getGameColumn().stream().filter(g -> g.isPlayable()).count());
@@ -164,6 +185,8 @@ public class Rule {
                 mResultRow = i;
             }
         }
+
+        mGameRules = new GameRules(mNumOfDice, mNumOfRolls, rows);
     }
 
     public void setAuthor(String author) {